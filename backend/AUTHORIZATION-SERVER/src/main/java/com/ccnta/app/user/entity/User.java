@@ -20,7 +20,14 @@ import java.util.List;
         {
                 @NamedQuery(name = "User.findByUsername", query = "SELECT U FROM User U WHERE U.username=:username"),
                 @NamedQuery(name = "User.findByUserId", query = "SELECT U FROM User U WHERE U.userId=:userId"),
-                @NamedQuery(name = "User.findByEmail", query = "SELECT U FROM User U WHERE U.email=:email")
+                @NamedQuery(name = "User.findByEmail", query = "SELECT U FROM User U WHERE U.email=:email"),
+                @NamedQuery(name = "User.findAllByUsernames", query = """
+                        SELECT DISTINCT U
+                        FROM User U
+                        LEFT JOIN FETCH U.roles
+                        LEFT JOIN FETCH U.profile
+                        WHERE U.username IN :usernames
+                        """)
         }
 )
 @ToString
@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,4 +22,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query(name="User.findByEmail")
     Optional<User> findByEmail(@Param("email") String email);
 
+    @Query(name="User.findAllByUsernames")
+    List<User> findAllByUsernames(@Param("usernames") Collection<String> usernames);
+
 }
\ No newline at end of file
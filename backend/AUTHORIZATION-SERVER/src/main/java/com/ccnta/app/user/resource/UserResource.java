@@ -14,6 +14,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/users")
@@ -50,6 +52,12 @@ public class UserResource {
         return ResponseEntity.ok(userService.findByUsername(username));
     }
 
+    @PostMapping("/by.usernames")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<GlobalResponse<List<UserResponse>>> getByUsernames(@RequestBody Set<String> usernames) {
+        return ResponseEntity.ok(userService.findAllByUsernames(usernames));
+    }
+
     @GetMapping("/by.email/{email}")
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<GlobalResponse<UserResponse>> getByEmail(@PathVariable String email) {
@@ -7,6 +7,8 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 
 public interface IUserService {
 
@@ -14,6 +16,8 @@ public interface IUserService {
 
     GlobalResponse<UserResponse> findByUsername(String username);
 
+    GlobalResponse<List<UserResponse>> findAllByUsernames(Set<String> usernames);
+
     GlobalResponse<UserResponse> findByEmail(String email);
 
     GlobalResponse<UserResponse> findByUserId(String userId);
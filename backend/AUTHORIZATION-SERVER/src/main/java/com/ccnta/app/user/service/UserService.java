@@ -116,6 +116,20 @@ public class UserService implements UserDetailsService, IUserService {
         return GlobalResponse.success(response);
     }
 
+    @Override
+    public GlobalResponse<List<UserResponse>> findAllByUsernames(Set<String> usernames) {
+        if (usernames == null || usernames.isEmpty()) {
+            return GlobalResponse.success(List.of());
+        }
+
+        var response = userRepository.findAllByUsernames(usernames)
+                .stream()
+                .map(UserMapper::toResponse)
+                .toList();
+
+        return GlobalResponse.success(response);
+    }
+
     @Override
     public GlobalResponse<UserResponse> findByEmail(String email) {
         var response = userRepository.findByEmail(email)
@@ -16,7 +16,7 @@ public class AuditLog extends AbstractEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "_audit_log_id_seq_generator")
-    @SequenceGenerator(name = "_audit_log_id_seq_generator", sequenceName = "_audit_log_id_seq", allocationSize = 1, initialValue = 1)
+    @SequenceGenerator(name = "_audit_log_id_seq_generator", sequenceName = "_audit_log_id_seq", allocationSize = 50, initialValue = 1)
     @Column(name = "id", nullable = false, updatable = false, unique = true)
     private Long id;
 
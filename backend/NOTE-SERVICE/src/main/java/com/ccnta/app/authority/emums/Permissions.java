@@ -1,10 +1,43 @@
 package com.ccnta.app.authority.emums;
 
+import java.util.Collection;
+
 public enum Permissions {
 
     ADMIN,
     OWNER,
     EDITOR,
-    VIEW_NOTE, CREATE_NOTE, EDIT_NOTE, DELETE_NOTE, VIEW_COLLABORATORS, MANAGE_COLLABORATORS, VIEW_PROJECT, EDIT_PROJECT, DELETE_PROJECT, VIEWER
+    VIEW_NOTE, CREATE_NOTE, EDIT_NOTE, DELETE_NOTE, VIEW_COLLABORATORS, MANAGE_COLLABORATORS, VIEW_PROJECT, EDIT_PROJECT, DELETE_PROJECT, VIEWER;
+
+    // one bit per constant, so a set of permissions fits in a long
+    private static final Permissions[] VALUES = values();
+
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Folds permission names into a bitmask. Names that are not constants of this enum are ignored.
+     */
+    public static long mask(Collection<String> names) {
+        long mask = 0L;
+        for (String name : names) {
+            for (Permissions permission : VALUES) {
+                if (permission.name().equalsIgnoreCase(name)) {
+                    mask |= permission.bit();
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    public static long mask(Permissions... permissions) {
+        long mask = 0L;
+        for (Permissions permission : permissions) {
+            mask |= permission.bit();
+        }
+        return mask;
+    }
 
 }
@@ -0,0 +1,20 @@
+package com.ccnta.app.authority.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One row of the {@code Project.access} query: a single permission the user holds on a project,
+ * together with the ownership flags the interceptor needs. Authority and permission are null
+ * when the user holds none, e.g. the project owner who is not also a collaborator.
+ */
+@Getter
+@AllArgsConstructor
+public class PermissionGrant {
+
+    private Boolean owner;
+    private String authority;
+    private String permission;
+    private Boolean resourceOwner;
+
+}
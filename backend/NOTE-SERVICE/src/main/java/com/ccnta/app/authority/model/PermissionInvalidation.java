@@ -0,0 +1,27 @@
+package com.ccnta.app.authority.model;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * Broadcast to every node when cached permission decisions become stale.
+ *
+ * @param projectId project whose decisions are dropped for every user, or null
+ * @param usernames users whose decisions are dropped on every project, or empty
+ * @param everything every decision is dropped, e.g. after an authority's permissions changed
+ */
+public record PermissionInvalidation(String projectId, Set<String> usernames, boolean everything) implements Serializable {
+
+    public static PermissionInvalidation project(String projectId) {
+        return new PermissionInvalidation(projectId, Set.of(), false);
+    }
+
+    public static PermissionInvalidation users(Set<String> usernames) {
+        return new PermissionInvalidation(null, Set.copyOf(usernames), false);
+    }
+
+    public static PermissionInvalidation all() {
+        return new PermissionInvalidation(null, Set.of(), true);
+    }
+
+}
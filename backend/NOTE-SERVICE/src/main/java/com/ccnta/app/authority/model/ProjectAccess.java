@@ -0,0 +1,63 @@
+package com.ccnta.app.authority.model;
+
+import com.ccnta.app.authority.emums.Permissions;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What a user may do on one project, folded from the {@link PermissionGrant} rows of a single query.
+ * Permissions are compiled into a {@link Permissions} bitmask once, so checking a request is a bit test.
+ */
+@Getter
+@AllArgsConstructor
+public class ProjectAccess {
+
+    private static final ProjectAccess NONE = new ProjectAccess(false, false, false, Set.of(), 0L);
+
+    private final boolean owner;
+    private final boolean resourceOwner;
+    private final boolean editor;
+    private final Set<String> authorities;
+    private final long permissions;
+
+    public static ProjectAccess of(List<PermissionGrant> grants) {
+        if (grants.isEmpty()) {
+            return NONE;
+        }
+
+        boolean owner = false;
+        boolean resourceOwner = false;
+        Set<String> authorities = new HashSet<>();
+        Set<String> permissions = new HashSet<>();
+
+        for (PermissionGrant grant : grants) {
+            owner |= Boolean.TRUE.equals(grant.getOwner());
+            resourceOwner |= Boolean.TRUE.equals(grant.getResourceOwner());
+            if (grant.getAuthority() != null) {
+                authorities.add(grant.getAuthority());
+            }
+            if (grant.getPermission() != null) {
+                permissions.add(grant.getPermission());
+            }
+        }
+
+        boolean editor = authorities.stream().anyMatch(Permissions.EDITOR.name()::equalsIgnoreCase);
+        return new ProjectAccess(owner, resourceOwner, editor, Set.copyOf(authorities), Permissions.mask(permissions));
+    }
+
+    public boolean isCollaborator() {
+        return !authorities.isEmpty();
+    }
+
+    /**
+     * @param required any-of mask of {@link Permissions#bit()}; an empty mask is never granted
+     */
+    public boolean hasAny(long required) {
+        return (permissions & required) != 0;
+    }
+
+}
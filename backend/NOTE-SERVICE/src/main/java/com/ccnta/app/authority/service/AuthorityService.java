@@ -22,6 +22,7 @@ public class AuthorityService implements IAuthorityService {
 
     private final AuthorityRepository authorityRepository;
     private final PermissionRepository permissionRepository;
+    private final PermissionCache permissionCache;
 
     @Override
     @Transactional
@@ -104,6 +105,8 @@ public class AuthorityService implements IAuthorityService {
             AuthorityRequest request = requests.iterator().next();
             updateAuthorityDetails(existingAuthority, request);
             updateAuthorityPermissions(existingAuthority, request);
+            // any collaborator may hold it, on any project
+            permissionCache.evictAll();
             log.info("Successfully updated authority: {}", authorityId);
             return GlobalResponse.success();
         } catch (NoSuchElementException e) {
@@ -123,6 +126,7 @@ public class AuthorityService implements IAuthorityService {
             Authority existingAuthority = findAuthorityByName(authorityName);
             deletePermissionsForAuthority(existingAuthority);
             authorityRepository.delete(existingAuthority);
+            permissionCache.evictAll();
             log.info("Successfully deleted authority: {}", authorityName);
             return GlobalResponse.success();
         } catch (NoSuchElementException e) {
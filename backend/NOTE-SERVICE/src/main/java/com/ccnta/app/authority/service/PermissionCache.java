@@ -0,0 +1,172 @@
+package com.ccnta.app.authority.service;
+
+import com.ccnta.app.authority.model.PermissionInvalidation;
+import com.ccnta.app.authority.model.ProjectAccess;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Per-node cache of resolved {@link ProjectAccess} keyed by (username, projectId).
+ * <p>
+ * Entries are dropped by the collaborator, authority and project mutations that can change them,
+ * after their transaction commits, and on every other node through a Hazelcast topic. The TTL
+ * only bounds how long a missed invalidation can live.
+ * <p>
+ * Exposes {@code permission.cache.requests} (tagged {@code result=hit|miss}) and
+ * {@code permission.cache.size} through Micrometer.
+ */
+@Component
+@Slf4j
+public class PermissionCache {
+
+    private static final String TOPIC = "permission-invalidation";
+
+    private final Map<Key, CachedAccess> cache = new ConcurrentHashMap<>();
+    // bumped by every invalidation, so a load that raced with one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private final ITopic<PermissionInvalidation> topic;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${application.permission-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${application.permission-cache.max-entries:10000}")
+    private int maxEntries;
+
+    public PermissionCache(HazelcastInstance hazelcastInstance, MeterRegistry meterRegistry) {
+        this.topic = hazelcastInstance.getTopic(TOPIC);
+        this.hits = meterRegistry.counter("permission.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("permission.cache.requests", "result", "miss");
+        meterRegistry.gaugeMapSize("permission.cache.size", Tags.empty(), cache);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        topic.addMessageListener(this::onInvalidation);
+    }
+
+    /**
+     * Returns the cached access of the user on the project, resolving and caching it on a miss.
+     */
+    public ProjectAccess get(String username, String projectId, Supplier<ProjectAccess> loader) {
+        Key key = new Key(username, projectId);
+        long now = System.currentTimeMillis();
+
+        CachedAccess cached = cache.get(key);
+        if (cached != null && !cached.isExpired(now)) {
+            hits.increment();
+            return cached.access();
+        }
+
+        misses.increment();
+        long loadedAt = generation.get();
+        ProjectAccess access = loader.get();
+        put(key, access, loadedAt, now);
+        return access;
+    }
+
+    /**
+     * Drops every user's decision on the project, e.g. after collaborators were added or removed.
+     */
+    public void evictProject(String projectId) {
+        publishAfterCommit(PermissionInvalidation.project(projectId));
+    }
+
+    /**
+     * Drops the users' decisions on every project, e.g. after their authorities changed.
+     * Collaborators can be matched by username or email, so callers pass both.
+     */
+    public void evictUsers(Collection<String> usernames) {
+        Set<String> keys = usernames.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (!keys.isEmpty()) {
+            publishAfterCommit(PermissionInvalidation.users(keys));
+        }
+    }
+
+    /**
+     * Drops every decision, e.g. after the permissions an authority grants changed.
+     */
+    public void evictAll() {
+        publishAfterCommit(PermissionInvalidation.all());
+    }
+
+    private void put(Key key, ProjectAccess access, long loadedAt, long now) {
+        if (cache.size() >= maxEntries) {
+            cache.values().removeIf(cached -> cached.isExpired(now));
+        }
+        if (cache.size() < maxEntries && generation.get() == loadedAt) {
+            cache.put(key, new CachedAccess(access, now + ttlSeconds * 1000));
+        }
+    }
+
+    private void publishAfterCommit(PermissionInvalidation invalidation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(invalidation);
+                }
+            });
+        } else {
+            publish(invalidation);
+        }
+    }
+
+    private void publish(PermissionInvalidation invalidation) {
+        apply(invalidation);
+        try {
+            topic.publish(invalidation);
+        } catch (Exception e) {
+            // other nodes fall back to the TTL
+            log.warn("Failed to broadcast permission invalidation {}: {}", invalidation, e.getMessage());
+        }
+    }
+
+    private void onInvalidation(Message<PermissionInvalidation> message) {
+        if (!message.getPublishingMember().localMember()) {
+            apply(message.getMessageObject());
+        }
+    }
+
+    private void apply(PermissionInvalidation invalidation) {
+        generation.incrementAndGet();
+        if (invalidation.everything()) {
+            cache.clear();
+            return;
+        }
+        cache.keySet().removeIf(key -> Objects.equals(key.projectId(), invalidation.projectId())
+                || invalidation.usernames().contains(key.username()));
+    }
+
+    private record Key(String username, String projectId) {
+    }
+
+    private record CachedAccess(ProjectAccess access, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.ccnta.app.authority.service;
+
+import com.ccnta.app.authority.emums.Permissions;
+import com.ccnta.app.authority.model.ProjectAccess;
+import com.ccnta.app.project.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves a user's {@link ProjectAccess} through the {@link PermissionCache}, for STOMP handlers
+ * that the HTTP {@code PermissionInterceptor} does not cover.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectAccessResolver {
+
+    private final PermissionCache permissionCache;
+    private final ProjectRepository projectRepository;
+
+    public ProjectAccess resolve(String username, String projectId) {
+        return permissionCache.get(username, projectId,
+                () -> ProjectAccess.of(projectRepository.findAccess(username, projectId, null)));
+    }
+
+    /**
+     * Owners may do anything on their project, collaborators what their authorities grant.
+     */
+    public boolean isAllowed(String username, String projectId, Permissions permission) {
+        ProjectAccess access = resolve(username, projectId);
+        return access.isOwner() || (access.isCollaborator() && access.hasAny(permission.bit()));
+    }
+
+}
@@ -12,6 +12,7 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -60,4 +61,42 @@ public class AuthorizationServerClient {
         }
     }
 
+    /**
+     * Fetches the details of several users in a single round trip
+     *
+     * @param usernames The usernames to look up
+     * @return UserResponse list for the usernames that exist
+     * @throws RuntimeException if the server returns an error
+     */
+    public GlobalResponse<List<UserResponse>> usersByUsernames(final Set<String> usernames) {
+        String url = String.format("%s/users/by.usernames", authorizationServerUrl);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        try {
+            log.debug("Fetching user details for {} usernames from URL: {}", usernames.size(), url);
+
+            ResponseEntity<GlobalResponse<List<UserResponse>>> responseEntity = restTemplate.exchange(
+                    url,
+                    HttpMethod.POST,
+                    new HttpEntity<>(usernames, headers),
+                    new ParameterizedTypeReference<>() {
+                    }
+            );
+
+            GlobalResponse<List<UserResponse>> response = responseEntity.getBody();
+            if (response == null) {
+                throw new RuntimeException("No response body received for users: " + usernames);
+            }
+
+            return response;
+
+        } catch (RestClientException e) {
+            log.error("Failed to fetch user details for usernames: {}", usernames, e);
+            throw new RuntimeException("Failed to fetch user details: " + e.getMessage(), e);
+        }
+    }
+
 }
@@ -0,0 +1,252 @@
+package com.ccnta.app.client;
+
+import com.ccnta.app.client.response.UserResponse;
+import com.ccnta.app.collaborator.model.CollaboratorResponse;
+import com.ccnta.app.exception.ProjectException;
+import com.ccnta.app.shared.AbstractEntity;
+import com.ccnta.app.shared.GlobalResponse;
+import com.ccnta.app.configuration.EnrichmentConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Resolves usernames to the {@link CollaboratorResponse} shown as createdBy/updatedBy
+ * on projects, notes, drafts and images.
+ * <p>
+ * Callers collect every username a response needs, {@link #prefetch(Collection)} them
+ * once, and then map entities with {@link #get(String)}, which is served from a
+ * TTL-bounded local cache instead of one authorization server call per field.
+ * <p>
+ * Cache misses are split into bulk lookups of {@code batch-size} usernames that run
+ * concurrently on the enrichment executor and are joined under {@code deadline-ms}.
+ * A user that is not resolved in time degrades to its last known (expired) entry, or to
+ * a username-only response, instead of failing the whole page.
+ */
+@Component
+@Slf4j
+public class UserDirectory {
+
+    private final AuthorizationServerClient authorizationClient;
+    private final Executor executor;
+    private final Map<String, CachedUser> cache = new ConcurrentHashMap<>();
+
+    @Value("${application.user-directory.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${application.user-directory.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${application.user-directory.batch-size:50}")
+    private int batchSize;
+
+    @Value("${application.user-directory.deadline-ms:2000}")
+    private long deadlineMs;
+
+    @Value("${application.user-directory.degraded-ttl-seconds:10}")
+    private long degradedTtlSeconds;
+
+    public UserDirectory(AuthorizationServerClient authorizationClient,
+                         @Qualifier(EnrichmentConfiguration.ENRICHMENT_EXECUTOR) AsyncTaskExecutor executor) {
+        this.authorizationClient = authorizationClient;
+        // lookups carry the caller's JWT, so the SecurityContext has to follow the task
+        this.executor = new DelegatingSecurityContextExecutor(executor);
+    }
+
+    /**
+     * Collects the distinct, non-null createdBy/updatedBy usernames of the given entities.
+     */
+    public static Set<String> auditors(Stream<? extends AbstractEntity> entities) {
+        return entities
+                .filter(Objects::nonNull)
+                .flatMap(entity -> Stream.of(entity.getCreatedBy(), entity.getUpdatedBy()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Makes sure every given username is cached, fetching only the ones that are missing or expired.
+     *
+     * @param usernames usernames a response is about to render
+     * @return users keyed by username, degraded where the lookup failed or missed the deadline
+     */
+    public Map<String, CollaboratorResponse> prefetch(Collection<String> usernames) {
+        Map<String, CollaboratorResponse> resolved = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        long now = System.currentTimeMillis();
+
+        for (String username : usernames) {
+            if (username == null) {
+                continue;
+            }
+            CachedUser cached = cache.get(username);
+            if (cached != null && !cached.isExpired(now)) {
+                resolved.put(username, cached.user());
+            } else {
+                missing.add(username);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            log.debug("Resolving {} uncached user(s) from the authorization server", missing.size());
+            Map<String, CollaboratorResponse> fetched = fetchConcurrently(missing);
+            for (String username : missing) {
+                CollaboratorResponse user = fetched.get(username);
+                resolved.put(username, user != null ? user : degrade(username));
+            }
+        }
+
+        return resolved;
+    }
+
+    /**
+     * Returns the user for the given username, fetching it when it is not cached.
+     *
+     * @param username username to resolve, may be null
+     * @return the mapped user, a degraded username-only user when it cannot be resolved,
+     * or null when the username is null
+     */
+    public CollaboratorResponse get(String username) {
+        if (username == null) {
+            return null;
+        }
+
+        CachedUser cached = cache.get(username);
+        if (cached != null && !cached.isExpired(System.currentTimeMillis())) {
+            return cached.user();
+        }
+
+        return prefetch(List.of(username)).get(username);
+    }
+
+    public void evict(String username) {
+        cache.remove(username);
+    }
+
+    private Map<String, CollaboratorResponse> fetchConcurrently(Set<String> usernames) {
+        Map<String, CollaboratorResponse> fetched = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] batches = partition(usernames)
+                .stream()
+                .map(batch -> CompletableFuture.runAsync(() -> fetch(batch).forEach((username, user) -> {
+                    put(username, user);
+                    fetched.put(username, user);
+                }), executor))
+                .toArray(CompletableFuture[]::new);
+
+        try {
+            CompletableFuture.allOf(batches).get(deadlineMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("User lookup for {} user(s) exceeded {} ms, degrading unresolved users", usernames.size(), deadlineMs);
+        } catch (ExecutionException e) {
+            log.warn("User lookup failed, degrading unresolved users: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // whatever finished in time is already in the map; late batches still fill the cache
+        return new HashMap<>(fetched);
+    }
+
+    private List<Set<String>> partition(Set<String> usernames) {
+        List<Set<String>> batches = new ArrayList<>();
+        Set<String> batch = new HashSet<>();
+        for (String username : usernames) {
+            batch.add(username);
+            if (batch.size() == batchSize) {
+                batches.add(batch);
+                batch = new HashSet<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private Map<String, CollaboratorResponse> fetch(Set<String> usernames) {
+        try {
+            return Optional.ofNullable(authorizationClient.usersByUsernames(usernames))
+                    .map(GlobalResponse::getData)
+                    .orElse(List.of())
+                    .stream()
+                    .collect(Collectors.toMap(
+                            UserResponse::getUsername,
+                            UserDirectory::toCollaboratorResponse,
+                            (first, second) -> first
+                    ));
+        } catch (Exception e) {
+            throw new ProjectException("Failed to fetch user details for: " + usernames, e);
+        }
+    }
+
+    /**
+     * Falls back to the last known user, or to the bare username, and keeps the fallback
+     * for {@code degraded-ttl-seconds} so a slow authorization server is not hit on every request.
+     * A full cache only takes it in place of an entry it already has for the user.
+     */
+    private CollaboratorResponse degrade(String username) {
+        long now = System.currentTimeMillis();
+        boolean room = hasRoom(now);
+        CachedUser degraded = cache.compute(username, (key, cached) -> {
+            if (cached != null && !cached.isExpired(now)) {
+                // a late batch resolved it in the meantime
+                return cached;
+            }
+            if (cached == null && !room) {
+                return null;
+            }
+            CollaboratorResponse user = cached != null
+                    ? cached.user()
+                    : CollaboratorResponse.builder().username(username).build();
+            return new CachedUser(user, now + degradedTtlSeconds * 1000);
+        });
+        return degraded != null ? degraded.user() : CollaboratorResponse.builder().username(username).build();
+    }
+
+    private void put(String username, CollaboratorResponse user) {
+        long now = System.currentTimeMillis();
+        if (hasRoom(now)) {
+            cache.put(username, new CachedUser(user, now + ttlSeconds * 1000));
+        }
+    }
+
+    /**
+     * Drops expired entries when the cache is full, and tells whether a new one fits.
+     */
+    private boolean hasRoom(long now) {
+        if (cache.size() >= maxEntries) {
+            cache.values().removeIf(cached -> cached.isExpired(now));
+        }
+        return cache.size() < maxEntries;
+    }
+
+    private static CollaboratorResponse toCollaboratorResponse(UserResponse response) {
+        return CollaboratorResponse.builder()
+                .name(response.getFirstName() + " " + response.getLastName())
+                .username(response.getUsername())
+                .profile(response.getProfile())
+                .email(response.getEmail())
+                .build();
+    }
+
+    private record CachedUser(CollaboratorResponse user, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.ccnta.app.collaboration.entity;
+
+import com.ccnta.app.collaboration.ot.TextOperation;
+import com.ccnta.app.note.entity.Note;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.util.Date;
+
+/**
+ * One entry of a note's append-only operation log: the operation that produced {@code revision}.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "_note_operations",
+        uniqueConstraints = @UniqueConstraint(name = "uk_note_operations_note_revision", columnNames = {"note_id", "revision"}))
+public class NoteOperation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "_note_operation_id_seq_generator")
+    @SequenceGenerator(name = "_note_operation_id_seq_generator", sequenceName = "_note_operation_id_seq", allocationSize = 50, initialValue = 1)
+    @Column(name = "id", nullable = false, updatable = false, unique = true)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "note_id", nullable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Note note;
+
+    @Column(name = "revision", nullable = false, updatable = false)
+    private long revision;
+
+    @Convert(converter = TextOperationConverter.class)
+    @Column(name = "operation", nullable = false, updatable = false, columnDefinition = "text")
+    private TextOperation operation;
+
+    @Column(name = "username", updatable = false)
+    private String username;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Date createdAt;
+
+}
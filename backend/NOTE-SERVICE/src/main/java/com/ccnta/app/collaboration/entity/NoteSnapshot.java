@@ -0,0 +1,43 @@
+package com.ccnta.app.collaboration.entity;
+
+import com.ccnta.app.note.entity.Note;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.util.Date;
+
+/**
+ * A note's content at {@code revision}; loading replays the operation log from the latest one.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "_note_snapshots", indexes = @Index(name = "idx_note_snapshots_note_revision", columnList = "note_id, revision"))
+public class NoteSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "_note_snapshot_id_seq_generator")
+    @SequenceGenerator(name = "_note_snapshot_id_seq_generator", sequenceName = "_note_snapshot_id_seq", allocationSize = 50, initialValue = 1)
+    @Column(name = "id", nullable = false, updatable = false, unique = true)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "note_id", nullable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Note note;
+
+    @Column(name = "revision", nullable = false, updatable = false)
+    private long revision;
+
+    @Column(name = "content", nullable = false, updatable = false, columnDefinition = "text")
+    private String content;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Date createdAt;
+
+}
@@ -0,0 +1,35 @@
+package com.ccnta.app.collaboration.entity;
+
+import com.ccnta.app.collaboration.ot.TextOperation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a {@link TextOperation} in its JSON form, e.g. {@code [5,"abc",-2]}.
+ */
+@Converter
+public class TextOperationConverter implements AttributeConverter<TextOperation, String> {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public String convertToDatabaseColumn(TextOperation operation) {
+        try {
+            return operation == null ? null : objectMapper.writeValueAsString(operation);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to write operation " + operation, e);
+        }
+    }
+
+    @Override
+    public TextOperation convertToEntityAttribute(String json) {
+        try {
+            return json == null ? null : objectMapper.readValue(json, TextOperation.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to read operation " + json, e);
+        }
+    }
+
+}
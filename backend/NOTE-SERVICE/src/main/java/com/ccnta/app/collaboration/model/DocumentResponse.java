@@ -0,0 +1,30 @@
+package com.ccnta.app.collaboration.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * A collaborative document at {@code revision}: its full content, or only the operations a returning
+ * client missed. Operations broadcast with a higher revision follow it.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DocumentResponse {
+
+    private String noteId;
+    private String projectId;
+    private long revision;
+    private String content;
+    private List<EditResponse> operations;
+
+}
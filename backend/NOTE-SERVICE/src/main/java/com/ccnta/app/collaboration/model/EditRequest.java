@@ -0,0 +1,28 @@
+package com.ccnta.app.collaboration.model;
+
+import com.ccnta.app.collaboration.ot.TextOperation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An operation a client made on the document as it was at {@code revision}.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EditRequest {
+
+    private Long revision;
+    private TextOperation operation;
+
+    /**
+     * Chosen by the client, echoed in the broadcast so it can recognise its own operations.
+     */
+    private String clientId;
+
+}
@@ -0,0 +1,30 @@
+package com.ccnta.app.collaboration.model;
+
+import com.ccnta.app.collaboration.ot.TextOperation;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An operation as the server applied it, producing {@code revision}. With {@code reload} set there is
+ * no operation: the document was dropped and clients join again.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EditResponse {
+
+    private String noteId;
+    private long revision;
+    private TextOperation operation;
+    private String clientId;
+    private String username;
+    private Boolean reload;
+
+}
@@ -0,0 +1,259 @@
+package com.ccnta.app.collaboration.ot;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An edit of a whole document as a sequence of components: retain n characters, insert a string,
+ * delete n characters. It applies to a document of exactly {@link #getBaseLength()} characters.
+ * <p>
+ * Lengths count UTF-16 code units. The JSON form is the one of ot.js: a positive number retains,
+ * a negative number deletes and a string inserts, e.g. {@code [5, "abc", -2, 10]}. {@link #transform}
+ * follows ot.js too, so its clients converge with the server.
+ */
+public final class TextOperation {
+
+    private final List<Object> components = new ArrayList<>();
+    private int baseLength;
+    private int targetLength;
+
+    @JsonCreator
+    public static TextOperation of(List<Object> components) {
+        TextOperation operation = new TextOperation();
+        for (Object component : components) {
+            if (component instanceof String text) {
+                operation.insert(text);
+            } else if (component instanceof Number number && number.intValue() != 0
+                    && number.longValue() == number.intValue()) {
+                if (number.intValue() > 0) {
+                    operation.retain(number.intValue());
+                } else {
+                    operation.delete(-number.intValue());
+                }
+            } else {
+                throw new IllegalArgumentException("Invalid operation component: " + component);
+            }
+        }
+        return operation;
+    }
+
+    /**
+     * The operation turning {@code from} into {@code to}, replacing only what lies between their common prefix and suffix.
+     */
+    public static TextOperation diff(String from, String to) {
+        int prefix = 0;
+        int max = Math.min(from.length(), to.length());
+        while (prefix < max && from.charAt(prefix) == to.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && from.charAt(from.length() - 1 - suffix) == to.charAt(to.length() - 1 - suffix)) {
+            suffix++;
+        }
+        return new TextOperation()
+                .retain(prefix)
+                .delete(from.length() - prefix - suffix)
+                .insert(to.substring(prefix, to.length() - suffix))
+                .retain(suffix);
+    }
+
+    public TextOperation retain(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Retain count must not be negative");
+        }
+        if (count == 0) {
+            return this;
+        }
+        baseLength += count;
+        targetLength += count;
+        if (last() instanceof Integer previous && previous > 0) {
+            components.set(components.size() - 1, previous + count);
+        } else {
+            components.add(count);
+        }
+        return this;
+    }
+
+    public TextOperation insert(String text) {
+        if (text == null || text.isEmpty()) {
+            return this;
+        }
+        targetLength += text.length();
+        int size = components.size();
+        if (last() instanceof String previous) {
+            components.set(size - 1, previous + text);
+        } else if (isDelete(last())) {
+            // inserts always come before an adjacent delete, so equal edits have one representation
+            if (size > 1 && components.get(size - 2) instanceof String previous) {
+                components.set(size - 2, previous + text);
+            } else {
+                components.add(size - 1, text);
+            }
+        } else {
+            components.add(text);
+        }
+        return this;
+    }
+
+    public TextOperation delete(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Delete count must not be negative");
+        }
+        if (count == 0) {
+            return this;
+        }
+        baseLength += count;
+        if (isDelete(last())) {
+            components.set(components.size() - 1, (Integer) last() - count);
+        } else {
+            components.add(-count);
+        }
+        return this;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the document length is not the operation's base length
+     */
+    public String apply(String document) {
+        if (document.length() != baseLength) {
+            throw new IllegalArgumentException("Operation expects a document of length " + baseLength
+                    + " but got " + document.length());
+        }
+
+        StringBuilder result = new StringBuilder(targetLength);
+        int index = 0;
+        for (Object component : components) {
+            if (component instanceof String text) {
+                result.append(text);
+            } else if ((Integer) component > 0) {
+                result.append(document, index, index + (Integer) component);
+                index += (Integer) component;
+            } else {
+                index -= (Integer) component;
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Rewrites two operations made concurrently on the same document so that
+     * {@code b'(a(doc)) == a'(b(doc))}. When both insert at the same position, {@code a}'s text comes first.
+     *
+     * @return {@code [a', b']}
+     */
+    public static TextOperation[] transform(TextOperation a, TextOperation b) {
+        if (a.baseLength != b.baseLength) {
+            throw new IllegalArgumentException("Both operations must have the same base length");
+        }
+
+        TextOperation aPrime = new TextOperation();
+        TextOperation bPrime = new TextOperation();
+        List<Object> ops1 = a.components;
+        List<Object> ops2 = b.components;
+        int i1 = 0;
+        int i2 = 0;
+        Object op1 = i1 < ops1.size() ? ops1.get(i1++) : null;
+        Object op2 = i2 < ops2.size() ? ops2.get(i2++) : null;
+
+        while (op1 != null || op2 != null) {
+            if (op1 instanceof String text) {
+                aPrime.insert(text);
+                bPrime.retain(text.length());
+                op1 = i1 < ops1.size() ? ops1.get(i1++) : null;
+                continue;
+            }
+            if (op2 instanceof String text) {
+                aPrime.retain(text.length());
+                bPrime.insert(text);
+                op2 = i2 < ops2.size() ? ops2.get(i2++) : null;
+                continue;
+            }
+            if (op1 == null || op2 == null) {
+                throw new IllegalArgumentException("Operations cover different lengths");
+            }
+
+            int n1 = (Integer) op1;
+            int n2 = (Integer) op2;
+            int consumed;
+            if (n1 > 0 && n2 > 0) {
+                consumed = Math.min(n1, n2);
+                aPrime.retain(consumed);
+                bPrime.retain(consumed);
+            } else if (n1 < 0 && n2 < 0) {
+                // both deleted the same characters, neither has anything left to do
+                consumed = Math.min(-n1, -n2);
+            } else if (n1 < 0) {
+                consumed = Math.min(-n1, n2);
+                aPrime.delete(consumed);
+            } else {
+                consumed = Math.min(n1, -n2);
+                bPrime.delete(consumed);
+            }
+
+            op1 = n1 > 0 ? remainder(n1 - consumed) : remainder(n1 + consumed);
+            op2 = n2 > 0 ? remainder(n2 - consumed) : remainder(n2 + consumed);
+            if (op1 == null) {
+                op1 = i1 < ops1.size() ? ops1.get(i1++) : null;
+            }
+            if (op2 == null) {
+                op2 = i2 < ops2.size() ? ops2.get(i2++) : null;
+            }
+        }
+        return new TextOperation[]{aPrime, bPrime};
+    }
+
+    public boolean isNoop() {
+        return components.isEmpty() || (components.size() == 1 && isRetain(components.get(0)));
+    }
+
+    public int getBaseLength() {
+        return baseLength;
+    }
+
+    public int getTargetLength() {
+        return targetLength;
+    }
+
+    @JsonValue
+    public List<Object> components() {
+        return Collections.unmodifiableList(components);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TextOperation operation && components.equals(operation.components);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(components);
+    }
+
+    @Override
+    public String toString() {
+        return components.toString();
+    }
+
+    private Object last() {
+        return components.isEmpty() ? null : components.get(components.size() - 1);
+    }
+
+    private static Integer remainder(int count) {
+        return count == 0 ? null : count;
+    }
+
+    private static boolean isRetain(Object component) {
+        return component instanceof Integer count && count > 0;
+    }
+
+    private static boolean isDelete(Object component) {
+        return component instanceof Integer count && count < 0;
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.ccnta.app.collaboration.repository;
+
+import com.ccnta.app.collaboration.entity.NoteOperation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface NoteOperationRepository extends JpaRepository<NoteOperation, Long> {
+
+    @Query("SELECT O FROM NoteOperation O WHERE O.note.id = :noteId AND O.revision > :revision ORDER BY O.revision")
+    List<NoteOperation> findAfter(@Param("noteId") Long noteId, @Param("revision") long revision);
+
+    @Query("SELECT COALESCE(MAX(O.revision), 0) FROM NoteOperation O WHERE O.note.id = :noteId")
+    long findLastRevision(@Param("noteId") Long noteId);
+
+    @Modifying
+    @Query("DELETE FROM NoteOperation O WHERE O.note.id = :noteId AND O.revision <= :revision")
+    int deleteUpTo(@Param("noteId") Long noteId, @Param("revision") long revision);
+
+}
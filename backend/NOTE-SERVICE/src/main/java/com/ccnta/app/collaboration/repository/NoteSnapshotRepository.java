@@ -0,0 +1,23 @@
+package com.ccnta.app.collaboration.repository;
+
+import com.ccnta.app.collaboration.entity.NoteSnapshot;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface NoteSnapshotRepository extends JpaRepository<NoteSnapshot, Long> {
+
+    @Query("SELECT S FROM NoteSnapshot S WHERE S.note.id = :noteId ORDER BY S.revision DESC")
+    List<NoteSnapshot> findLatest(@Param("noteId") Long noteId, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM NoteSnapshot S WHERE S.note.id = :noteId AND S.revision < :revision")
+    int deleteBefore(@Param("noteId") Long noteId, @Param("revision") long revision);
+
+}
@@ -0,0 +1,60 @@
+package com.ccnta.app.collaboration.resource;
+
+import com.ccnta.app.collaboration.model.DocumentResponse;
+import com.ccnta.app.collaboration.model.EditRequest;
+import com.ccnta.app.collaboration.service.ICollaborationService;
+import com.ccnta.app.exception.ErrorMessage;
+import com.ccnta.app.exception.ProjectException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+import java.time.LocalDateTime;
+
+/**
+ * STOMP endpoints of collaborative note editing. A client subscribes to {@code /ccnta/notes/{noteId}}
+ * once for the current document, or with a {@code revision} header for the operations it missed,
+ * to {@code /broadcast/notes/{noteId}} for the operations that follow, and sends its own operations
+ * to {@code /ccnta/notes/{noteId}/edit}. Errors go to {@code /user/{username}/queue/errors}.
+ */
+@Controller
+@RequiredArgsConstructor
+@Slf4j
+public class CollaborationResource {
+
+    private final ICollaborationService collaborationService;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @SubscribeMapping("/notes/{noteId}")
+    public DocumentResponse join(@DestinationVariable String noteId,
+                                 @Header(name = "revision", required = false) Long revision,
+                                 Principal principal) {
+        return collaborationService.join(noteId, principal.getName(), revision);
+    }
+
+    @MessageMapping("/notes/{noteId}/edit")
+    public void edit(@DestinationVariable String noteId, @Payload EditRequest request, Principal principal) {
+        collaborationService.edit(noteId, principal.getName(), request);
+    }
+
+    @MessageExceptionHandler(ProjectException.class)
+    public void handleProjectException(ProjectException exp, Principal principal) {
+        log.warn("Collaboration request of {} failed: {}", principal.getName(), exp.getMessage());
+        messagingTemplate.convertAndSend("/user/" + principal.getName() + "/queue/errors",
+                ErrorMessage.builder()
+                        .code(String.valueOf(exp.getStatus().value()))
+                        .message(exp.getMessage())
+                        .status(exp.getStatus())
+                        .timestamp(LocalDateTime.now().toString())
+                        .build());
+    }
+
+}
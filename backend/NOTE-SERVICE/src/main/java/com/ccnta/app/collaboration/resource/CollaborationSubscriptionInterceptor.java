@@ -0,0 +1,48 @@
+package com.ccnta.app.collaboration.resource;
+
+import com.ccnta.app.collaboration.service.CollaborationService;
+import com.ccnta.app.collaboration.service.ICollaborationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+
+/**
+ * Only lets users who may view a note subscribe to its operations; the broker itself does not check.
+ */
+@Component
+@RequiredArgsConstructor
+public class CollaborationSubscriptionInterceptor implements ChannelInterceptor {
+
+    // the service sends through the broker this interceptor is registered on, so it is resolved on first use
+    private final ObjectProvider<ICollaborationService> collaborationService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.SUBSCRIBE) {
+            return message;
+        }
+
+        String destination = accessor.getDestination();
+        if (destination == null || !destination.startsWith(CollaborationService.TOPIC)) {
+            return message;
+        }
+
+        Principal user = accessor.getUser();
+        String noteId = destination.substring(CollaborationService.TOPIC.length());
+        if (user == null || !collaborationService.getObject().canView(noteId, user.getName())) {
+            throw new MessageDeliveryException(message, "Not allowed to subscribe to " + destination);
+        }
+        return message;
+    }
+
+}
@@ -0,0 +1,257 @@
+package com.ccnta.app.collaboration.service;
+
+import com.ccnta.app.authority.emums.Permissions;
+import com.ccnta.app.authority.service.ProjectAccessResolver;
+import com.ccnta.app.collaboration.model.DocumentResponse;
+import com.ccnta.app.collaboration.model.EditRequest;
+import com.ccnta.app.collaboration.model.EditResponse;
+import com.ccnta.app.collaboration.ot.TextOperation;
+import com.ccnta.app.exception.ProjectException;
+import com.ccnta.app.note.entity.Note;
+import com.ccnta.app.note.repository.NoteRepository;
+import com.ccnta.app.project.service.ProjectCacheKeys;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collaborative editing of note content over STOMP.
+ * <p>
+ * Each note being edited lives in memory as a {@link CollaborativeDocument}. Clients send
+ * {@link TextOperation}s against the revision they have; the server transforms them over what was
+ * applied since, applies them and broadcasts the result on {@code /broadcast/notes/{noteId}}.
+ * <p>
+ * Documents are written back to {@code Note.content} every checkpoint interval, together with the
+ * operations applied since in the {@link OperationLog}, so the database sees one batch per interval
+ * per note instead of a write per keystroke. A REST write that landed in between is folded into the
+ * document as one more operation before the checkpoint, not overwritten; documents nobody is typing
+ * into check the note's version every interval for the same reason. Documents without activity
+ * for the idle period are dropped once checkpointed and load again from the log.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CollaborationService implements ICollaborationService {
+
+    public static final String TOPIC = "/broadcast/notes/";
+    private static final String NOTE_NOT_FOUND = "Note not found with id: %s";
+    private static final int MAX_CONTENT_LENGTH = 50000;
+
+    private final Map<String, CollaborativeDocument> documents = new ConcurrentHashMap<>();
+
+    private final NoteRepository noteRepository;
+    private final ProjectAccessResolver projectAccessResolver;
+    private final ProjectCacheKeys projectCacheKeys;
+    private final OperationLog operationLog;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${application.collaboration.max-history:1000}")
+    private int maxHistory;
+
+    @Value("${application.collaboration.idle-seconds:300}")
+    private long idleSeconds;
+
+    @Override
+    public DocumentResponse join(String noteId, String username, Long revision) {
+        CollaborativeDocument document = document(noteId);
+        authorize(username, document.getProjectId(), Permissions.VIEW_NOTE);
+
+        synchronized (document) {
+            // a client coming back at a revision still kept only needs what it missed
+            List<CollaborativeDocument.Entry> missed = revision != null ? document.since(revision) : null;
+            if (missed != null) {
+                return DocumentResponse.builder()
+                        .noteId(noteId)
+                        .projectId(document.getProjectId())
+                        .revision(document.revision())
+                        .operations(missed.stream()
+                                .map(entry -> editResponse(document, entry.operation(), entry.revision(), null, entry.username()))
+                                .toList())
+                        .build();
+            }
+        }
+
+        CollaborativeDocument.Snapshot snapshot = document.snapshot();
+        return DocumentResponse.builder()
+                .noteId(noteId)
+                .projectId(document.getProjectId())
+                .revision(snapshot.revision())
+                .content(snapshot.content())
+                .build();
+    }
+
+    @Override
+    public long edit(String noteId, String username, EditRequest request) {
+        if (request.getRevision() == null || request.getOperation() == null) {
+            throw new ProjectException("Revision and operation must not be null.", HttpStatus.BAD_REQUEST);
+        }
+
+        while (true) {
+            CollaborativeDocument document = document(noteId);
+            authorize(username, document.getProjectId(), Permissions.EDIT_NOTE);
+            synchronized (document) {
+                // dropped as idle between the lookup and the lock, the next lookup reloads it
+                if (document.isClosed()) {
+                    continue;
+                }
+                TextOperation applied = document.apply(request.getRevision(), request.getOperation(), username, MAX_CONTENT_LENGTH);
+                long revision = document.revision();
+                publish(document, applied, revision, request.getClientId(), username);
+                return revision;
+            }
+        }
+    }
+
+    @Override
+    public boolean canView(String noteId, String username) {
+        CollaborativeDocument document = documents.get(noteId);
+        String projectId = document != null
+                ? document.getProjectId()
+                : noteRepository.findProjectId(noteId).orElse(null);
+        return projectId != null && projectAccessResolver.isAllowed(username, projectId, Permissions.VIEW_NOTE);
+    }
+
+    @Scheduled(fixedDelayString = "${application.collaboration.checkpoint-interval-ms:5000}")
+    public void checkpoint() {
+        long idleSince = System.currentTimeMillis() - idleSeconds * 1000;
+        documents.values().forEach(document -> {
+            try {
+                if (document.isDirty() || isWrittenOutside(document)) {
+                    checkpoint(document);
+                } else {
+                    synchronized (document) {
+                        if (!document.isDirty() && document.isIdleSince(idleSince)) {
+                            document.close();
+                            documents.remove(document.getNoteId(), document);
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Failed to checkpoint note {}: {}", document.getNoteId(), e.getMessage(), e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void flush() {
+        documents.values().stream()
+                .filter(CollaborativeDocument::isDirty)
+                .forEach(document -> {
+                    try {
+                        checkpoint(document);
+                    } catch (Exception e) {
+                        log.error("Failed to flush note {} on shutdown: {}", document.getNoteId(), e.getMessage(), e);
+                    }
+                });
+    }
+
+    private void checkpoint(CollaborativeDocument document) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Note note = noteRepository.findForPatch(document.getNoteId()).orElse(null);
+            if (note == null) {
+                log.warn("Note {} was deleted while being edited, dropping its document", document.getNoteId());
+                document.close();
+                documents.remove(document.getNoteId(), document);
+                return;
+            }
+
+            CollaborativeDocument.Snapshot snapshot;
+            List<CollaborativeDocument.Entry> unlogged;
+            synchronized (document) {
+                if (!Objects.equals(note.getVersion(), document.checkpointVersion())) {
+                    // written through PUT/PATCH since the last checkpoint: rebase that change like any other edit
+                    TextOperation external = TextOperation.diff(document.checkpointContent(),
+                            note.getContent() != null ? note.getContent() : "");
+                    if (!external.isNoop()) {
+                        TextOperation applied = document.apply(document.checkpointRevision(), external,
+                                note.getUpdatedBy(), Integer.MAX_VALUE);
+                        publish(document, applied, document.revision(), null, note.getUpdatedBy());
+                    }
+                }
+                snapshot = document.snapshot();
+                unlogged = document.unlogged();
+            }
+
+            note.setContent(snapshot.content());
+            noteRepository.saveAndFlush(note);
+            projectCacheKeys.touch(note.getProject());
+
+            // the row lock orders this check with the checkpoints of every other node
+            if (operationLog.lastRevision(note) != document.loggedRevision()) {
+                log.warn("Note {} is also being edited on another node, reloading its document", document.getNoteId());
+                reload(document);
+                return;
+            }
+            long snapshotRevision = operationLog.append(note, unlogged, snapshot, document.snapshotRevision(), maxHistory);
+            document.logged(snapshot.revision(), snapshotRevision);
+            document.checkpointed(snapshot, note.getVersion(), maxHistory);
+        });
+    }
+
+    /**
+     * Whether the note was written through PUT/PATCH, or deleted, since the document's last checkpoint.
+     * Without a check, an open document nobody types into keeps serving and broadcasting the old content.
+     */
+    private boolean isWrittenOutside(CollaborativeDocument document) {
+        return noteRepository.findRowVersion(document.getNoteId())
+                .map(version -> !Objects.equals(version, document.checkpointVersion()))
+                .orElse(true);
+    }
+
+    /**
+     * Drops the document, its content having been saved to the note, and tells its subscribers to join again.
+     */
+    private void reload(CollaborativeDocument document) {
+        synchronized (document) {
+            document.close();
+            documents.remove(document.getNoteId(), document);
+            messagingTemplate.convertAndSend(TOPIC + document.getNoteId(), EditResponse.builder()
+                    .noteId(document.getNoteId())
+                    .revision(document.revision())
+                    .reload(true)
+                    .build());
+        }
+    }
+
+    private CollaborativeDocument document(String noteId) {
+        return documents.computeIfAbsent(noteId, id -> noteRepository.findByNoteId(id)
+                .map(note -> operationLog.load(note, maxHistory))
+                .orElseThrow(() -> new ProjectException(String.format(NOTE_NOT_FOUND, id), HttpStatus.NOT_FOUND)));
+    }
+
+    private void publish(CollaborativeDocument document, TextOperation operation, long revision,
+                         String clientId, String username) {
+        messagingTemplate.convertAndSend(TOPIC + document.getNoteId(),
+                editResponse(document, operation, revision, clientId, username));
+    }
+
+    private static EditResponse editResponse(CollaborativeDocument document, TextOperation operation, long revision,
+                                             String clientId, String username) {
+        return EditResponse.builder()
+                .noteId(document.getNoteId())
+                .revision(revision)
+                .operation(operation)
+                .clientId(clientId)
+                .username(username)
+                .build();
+    }
+
+    private void authorize(String username, String projectId, Permissions permission) {
+        if (!projectAccessResolver.isAllowed(username, projectId, permission)) {
+            throw new ProjectException("You are not authorized to perform this action", HttpStatus.FORBIDDEN);
+        }
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.ccnta.app.collaboration.service;
+
+import com.ccnta.app.collaboration.ot.TextOperation;
+import com.ccnta.app.exception.ProjectException;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory state of one note under collaborative editing: its content at {@code revision} and the
+ * operations that produced it since the oldest revision a client may still send an operation against.
+ * <p>
+ * Operations made against an older revision are transformed over the ones applied since, then applied.
+ * All methods synchronize on the document; callers hold the same lock to publish in revision order.
+ */
+class CollaborativeDocument {
+
+    @Getter
+    private final String noteId;
+    @Getter
+    private final String projectId;
+
+    private String content;
+    private long revision;
+    // history.get(i) produced revision historyStart + i + 1
+    private final List<Entry> history;
+    private long historyStart;
+
+    // what the note row held after the last checkpoint, the base of writes made outside the document
+    private String checkpointContent;
+    private long checkpointRevision;
+    private long checkpointVersion;
+    // last revision appended to the operation log, and the last one a snapshot was taken at
+    private long loggedRevision;
+    private long snapshotRevision;
+
+    private long lastActivity = System.currentTimeMillis();
+    private boolean closed;
+
+    /**
+     * @param history the logged operations that produced {@code revision}, oldest first
+     */
+    CollaborativeDocument(String noteId, String projectId, String content, long revision, List<Entry> history,
+                          long snapshotRevision, long version) {
+        this.noteId = noteId;
+        this.projectId = projectId;
+        this.content = content;
+        this.revision = revision;
+        this.history = new ArrayList<>(history);
+        this.historyStart = revision - history.size();
+        this.checkpointContent = content;
+        this.checkpointRevision = revision;
+        this.checkpointVersion = version;
+        this.loggedRevision = revision;
+        this.snapshotRevision = snapshotRevision;
+    }
+
+    /**
+     * @return the operation as applied, transformed over everything applied after {@code baseRevision}
+     * @throws ProjectException 409 when {@code baseRevision} is no longer kept, 400 when the operation does not fit
+     */
+    synchronized TextOperation apply(long baseRevision, TextOperation operation, String username, int maxLength) {
+        if (baseRevision < historyStart) {
+            throw new ProjectException(String.format("Revision %d of note %s is no longer available, reload the document",
+                    baseRevision, noteId), HttpStatus.CONFLICT);
+        }
+        if (baseRevision > revision) {
+            throw new ProjectException(String.format("Revision %d of note %s does not exist yet", baseRevision, noteId),
+                    HttpStatus.BAD_REQUEST);
+        }
+
+        try {
+            TextOperation transformed = operation;
+            for (int i = (int) (baseRevision - historyStart); i < history.size(); i++) {
+                transformed = TextOperation.transform(transformed, history.get(i).operation())[0];
+            }
+            String result = transformed.apply(content);
+            if (result.length() > maxLength) {
+                throw new ProjectException("Content must not exceed " + maxLength + " characters.", HttpStatus.BAD_REQUEST);
+            }
+
+            content = result;
+            revision++;
+            history.add(new Entry(revision, transformed, username));
+            lastActivity = System.currentTimeMillis();
+            return transformed;
+        } catch (IllegalArgumentException e) {
+            throw new ProjectException("Operation does not apply to revision " + baseRevision + ": " + e.getMessage(),
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    synchronized Snapshot snapshot() {
+        return new Snapshot(content, revision);
+    }
+
+    synchronized long revision() {
+        return revision;
+    }
+
+    /**
+     * @return the operations applied after {@code baseRevision}, or null when they are no longer kept
+     */
+    synchronized List<Entry> since(long baseRevision) {
+        if (baseRevision < historyStart || baseRevision > revision) {
+            return null;
+        }
+        return List.copyOf(history.subList((int) (baseRevision - historyStart), history.size()));
+    }
+
+    /**
+     * @return the operations not yet appended to the operation log
+     */
+    synchronized List<Entry> unlogged() {
+        return List.copyOf(history.subList((int) (loggedRevision - historyStart), history.size()));
+    }
+
+    synchronized boolean isDirty() {
+        return revision != checkpointRevision || revision != loggedRevision;
+    }
+
+    synchronized boolean isIdleSince(long time) {
+        return lastActivity < time;
+    }
+
+    synchronized long checkpointRevision() {
+        return checkpointRevision;
+    }
+
+    synchronized String checkpointContent() {
+        return checkpointContent;
+    }
+
+    synchronized long checkpointVersion() {
+        return checkpointVersion;
+    }
+
+    synchronized long loggedRevision() {
+        return loggedRevision;
+    }
+
+    synchronized long snapshotRevision() {
+        return snapshotRevision;
+    }
+
+    synchronized void logged(long revision, long snapshotRevision) {
+        this.loggedRevision = revision;
+        this.snapshotRevision = snapshotRevision;
+    }
+
+    /**
+     * Records that the note row now holds {@code snapshot}, and drops operations no client needs any more.
+     */
+    synchronized void checkpointed(Snapshot snapshot, long version, int maxHistory) {
+        checkpointContent = snapshot.content();
+        checkpointRevision = snapshot.revision();
+        checkpointVersion = version;
+
+        // writes made outside the document are rebased from the checkpoint, so it is always kept
+        long keepFrom = Math.min(Math.min(checkpointRevision, loggedRevision), revision - maxHistory);
+        if (keepFrom > historyStart) {
+            history.subList(0, (int) (keepFrom - historyStart)).clear();
+            historyStart = keepFrom;
+        }
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    synchronized void close() {
+        closed = true;
+    }
+
+    record Snapshot(String content, long revision) {
+    }
+
+    /**
+     * An applied operation and the revision it produced.
+     */
+    record Entry(long revision, TextOperation operation, String username) {
+    }
+
+}
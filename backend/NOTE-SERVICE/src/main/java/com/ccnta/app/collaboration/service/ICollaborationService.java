@@ -0,0 +1,22 @@
+package com.ccnta.app.collaboration.service;
+
+import com.ccnta.app.collaboration.model.DocumentResponse;
+import com.ccnta.app.collaboration.model.EditRequest;
+
+public interface ICollaborationService {
+
+    /**
+     * @param revision the revision the client already has, if any; when it is still kept only the operations after it are returned
+     */
+    DocumentResponse join(String noteId, String username, Long revision);
+
+    /**
+     * Applies the operation and broadcasts it to the note's subscribers.
+     *
+     * @return the revision it produced
+     */
+    long edit(String noteId, String username, EditRequest request);
+
+    boolean canView(String noteId, String username);
+
+}
@@ -0,0 +1,125 @@
+package com.ccnta.app.collaboration.service;
+
+import com.ccnta.app.collaboration.entity.NoteOperation;
+import com.ccnta.app.collaboration.entity.NoteSnapshot;
+import com.ccnta.app.collaboration.ot.TextOperation;
+import com.ccnta.app.collaboration.repository.NoteOperationRepository;
+import com.ccnta.app.collaboration.repository.NoteSnapshotRepository;
+import com.ccnta.app.note.entity.Note;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Persists collaborative documents as an append-only log of operations plus periodic snapshots.
+ * <p>
+ * A document loads from its latest snapshot and the operations after it, so loading a note costs
+ * at most one snapshot interval of replay whatever its history. Each snapshot compacts the log:
+ * older snapshots are deleted, and so are operations older than the history a client may still
+ * send an operation against.
+ */
+@Component
+@RequiredArgsConstructor
+class OperationLog {
+
+    private final NoteOperationRepository operationRepository;
+    private final NoteSnapshotRepository snapshotRepository;
+
+    @Value("${application.collaboration.snapshot-interval:500}")
+    private int snapshotInterval;
+
+    /**
+     * Rebuilds the note's document from its latest snapshot and the operations after it. A change
+     * made to the note outside any document since then is applied on top as one more operation.
+     */
+    CollaborativeDocument load(Note note, int maxHistory) {
+        String current = note.getContent() != null ? note.getContent() : "";
+        List<NoteSnapshot> latest = snapshotRepository.findLatest(note.getId(), Limit.of(1));
+        if (latest.isEmpty()) {
+            // never edited collaboratively; the first checkpoint takes the first snapshot
+            return new CollaborativeDocument(note.getNoteId(), note.getProject().getProjectId(), current, 0,
+                    List.of(), -1, note.getVersion());
+        }
+
+        NoteSnapshot snapshot = latest.get(0);
+        String content = snapshot.getContent();
+        long revision = snapshot.getRevision();
+        List<CollaborativeDocument.Entry> history = new ArrayList<>();
+        for (NoteOperation operation : operationRepository.findAfter(note.getId(), Math.max(0, revision - maxHistory))) {
+            long previous = history.isEmpty() ? -1 : history.get(history.size() - 1).revision();
+            if (operation.getRevision() > snapshot.getRevision()) {
+                if (operation.getRevision() != revision + 1) {
+                    throw new IllegalStateException(String.format("Operation log of note %s misses revision %d",
+                            note.getNoteId(), revision + 1));
+                }
+                if (previous != revision) {
+                    history.clear();
+                }
+                content = operation.getOperation().apply(content);
+                revision = operation.getRevision();
+            } else if (previous >= 0 && operation.getRevision() != previous + 1) {
+                history.clear();
+            }
+            history.add(new CollaborativeDocument.Entry(operation.getRevision(), operation.getOperation(), operation.getUsername()));
+        }
+        if (!history.isEmpty() && history.get(history.size() - 1).revision() != revision) {
+            history.clear();
+        }
+
+        CollaborativeDocument document = new CollaborativeDocument(note.getNoteId(), note.getProject().getProjectId(),
+                content, revision, history, snapshot.getRevision(), note.getVersion());
+        if (!current.equals(content)) {
+            // written through PUT/PATCH while no document was open
+            document.apply(revision, TextOperation.diff(content, current), note.getUpdatedBy(), Integer.MAX_VALUE);
+            document.checkpointed(document.snapshot(), note.getVersion(), maxHistory);
+        }
+        return document;
+    }
+
+    /**
+     * @return the last revision appended to the note's log by any node
+     */
+    long lastRevision(Note note) {
+        return operationRepository.findLastRevision(note.getId());
+    }
+
+    /**
+     * Appends the operations and, once per snapshot interval, snapshots {@code current} and compacts the log.
+     *
+     * @return the revision of the note's latest snapshot
+     */
+    long append(Note note, List<CollaborativeDocument.Entry> entries, CollaborativeDocument.Snapshot current,
+                long snapshotRevision, int maxHistory) {
+        Date now = new Date();
+        operationRepository.saveAll(entries.stream()
+                .map(entry -> NoteOperation.builder()
+                        .note(note)
+                        .revision(entry.revision())
+                        .operation(entry.operation())
+                        .username(entry.username())
+                        .createdAt(now)
+                        .build())
+                .toList());
+
+        if (snapshotRevision >= 0 && current.revision() - snapshotRevision < snapshotInterval) {
+            return snapshotRevision;
+        }
+
+        snapshotRepository.save(NoteSnapshot.builder()
+                .note(note)
+                .revision(current.revision())
+                .content(current.content())
+                .createdAt(now)
+                .build());
+        snapshotRepository.deleteBefore(note.getId(), current.revision());
+        // the newest operation always stays, it tells other nodes how far the log got
+        operationRepository.deleteUpTo(note.getId(), current.revision() - Math.max(maxHistory, 1));
+        return current.revision();
+    }
+
+}
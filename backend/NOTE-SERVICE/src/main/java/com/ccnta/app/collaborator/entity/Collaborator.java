@@ -24,7 +24,7 @@ public class Collaborator extends AbstractEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "_collaborator_id_seq_generator")
-    @SequenceGenerator(name = "_collaborator_id_seq_generator", sequenceName = "_collaborator_id_seq", allocationSize = 1, initialValue = 1)
+    @SequenceGenerator(name = "_collaborator_id_seq_generator", sequenceName = "_collaborator_id_seq", allocationSize = 50, initialValue = 1)
     @Column(name = "id", nullable = false, updatable = false, unique = true)
     private Long id;
 
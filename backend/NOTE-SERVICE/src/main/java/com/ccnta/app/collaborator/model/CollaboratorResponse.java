@@ -4,6 +4,7 @@ import com.ccnta.app.media.model.ImageResponse;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
+import java.io.Serializable;
 import java.util.Map;
 import java.util.Set;
 
@@ -13,7 +14,7 @@ import java.util.Set;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @AllArgsConstructor
 @NoArgsConstructor
-public class CollaboratorResponse {
+public class CollaboratorResponse implements Serializable {
 
     private String collaboratorId;
     private String name;
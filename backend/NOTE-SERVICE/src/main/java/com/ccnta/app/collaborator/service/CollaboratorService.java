@@ -4,6 +4,7 @@ import com.ccnta.app.audit.enums.AuditAction;
 import com.ccnta.app.audit.service.AuditLogService;
 import com.ccnta.app.authority.entity.Authority;
 import com.ccnta.app.authority.repository.AuthorityRepository;
+import com.ccnta.app.authority.service.PermissionCache;
 import com.ccnta.app.client.AuthorizationServerClient;
 import com.ccnta.app.client.response.UserResponse;
 import com.ccnta.app.collaborator.entity.Collaborator;
@@ -15,6 +16,7 @@ import com.ccnta.app.notification.enums.NotificationTypes;
 import com.ccnta.app.notification.service.NotificationService;
 import com.ccnta.app.project.entity.Project;
 import com.ccnta.app.project.repository.ProjectRepository;
+import com.ccnta.app.project.service.ProjectCacheKeys;
 import com.ccnta.app.shared.GlobalResponse;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -38,6 +40,8 @@ public class CollaboratorService implements ICollaboratorService {
     private final AuthorityRepository authorityRepository;
     private final AuditLogService auditService;
     private final NotificationService notificationService;
+    private final PermissionCache permissionCache;
+    private final ProjectCacheKeys projectCacheKeys;
     private static final String DEFAULT_AUTHORITY = "viewer";
 
     @Override
@@ -75,6 +79,7 @@ public class CollaboratorService implements ICollaboratorService {
         }
 
         addCollaboratorsToProject(project, validCollaborators);
+        projectCacheKeys.touch(project);
 
         try {
             // Save the project
@@ -108,7 +113,10 @@ public class CollaboratorService implements ICollaboratorService {
                         format("Project not found - ID: %s, User: %s", projectId, authenticatedUser)
                 ));
 
+        // removed collaborators must lose their cached copies as well
+        projectCacheKeys.touch(ProjectCacheKeys.members(project));
         project.removeCollaborators(usernames);
+        permissionCache.evictProject(projectId);
 
         try {
             Project updatedProject = projectRepository.save(project);
@@ -157,6 +165,7 @@ public class CollaboratorService implements ICollaboratorService {
             // Assign authority to collaborator
             collaborator.addAuthority(authority);
             collaboratorRepository.save(collaborator);
+            permissionCache.evictUsers(Arrays.asList(collaborator.getUsername(), collaborator.getEmail()));
 
             log.info("Successfully assigned authority {} to collaborator {}", authorityId, collaboratorId);
             return GlobalResponse.success();
@@ -195,6 +204,7 @@ public class CollaboratorService implements ICollaboratorService {
             }
 
             collaboratorRepository.save(collaborator);
+            permissionCache.evictUsers(Arrays.asList(collaborator.getUsername(), collaborator.getEmail()));
 
             log.info("Successfully removed authority {} from collaborator {}", authorityId, collaboratorId);
             return GlobalResponse.success();
@@ -228,6 +238,8 @@ public class CollaboratorService implements ICollaboratorService {
                 collaborator.addAuthority(authority(authority));
                 project.addCollaborator(collaborator);
                 collaboratorRepository.save(collaborator);
+                // authorities are per collaborator, so this can change their access to other projects too
+                permissionCache.evictUsers(Arrays.asList(collaborator.getUsername(), collaborator.getEmail()));
             } catch (Exception e) {
                 log.error("Failed to add collaborator: {}", request.getUsername(), e);
                 throw new ProjectException(
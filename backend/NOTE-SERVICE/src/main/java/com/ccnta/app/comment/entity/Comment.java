@@ -20,7 +20,7 @@ public class Comment extends AbstractEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "_comment_id_seq_generator")
-    @SequenceGenerator(name = "_comment_id_seq_generator", sequenceName = "_comment_id_seq", allocationSize = 1, initialValue = 1)
+    @SequenceGenerator(name = "_comment_id_seq_generator", sequenceName = "_comment_id_seq", allocationSize = 50, initialValue = 1)
     @Column(name = "id", nullable = false, updatable = false, unique = true)
     private Long id;
 
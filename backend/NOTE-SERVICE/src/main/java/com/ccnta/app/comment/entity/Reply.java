@@ -19,7 +19,7 @@ public class Reply extends AbstractEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "_reply_id_seq_generator")
-    @SequenceGenerator(name = "_reply_id_seq_generator", sequenceName = "_reply_id_seq", allocationSize = 1, initialValue = 1)
+    @SequenceGenerator(name = "_reply_id_seq_generator", sequenceName = "_reply_id_seq", allocationSize = 50, initialValue = 1)
     @Column(name = "id", nullable = false, updatable = false, unique = true)
     private Long id;
 
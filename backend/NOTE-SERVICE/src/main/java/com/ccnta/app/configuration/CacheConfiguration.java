@@ -0,0 +1,77 @@
+package com.ccnta.app.configuration;
+
+import com.ccnta.app.configuration.cache.JsonCacheCodec;
+import com.ccnta.app.configuration.cache.StaleKeyResolver;
+import com.ccnta.app.configuration.cache.TwoLevelCacheManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spring.cache.HazelcastCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Turns on Spring's cache annotations. Caches are Hazelcast maps configured in hazelcast.yml (L2),
+ * fronted by a small per-node L1 kept coherent through a Hazelcast topic. Values are stored in
+ * Hazelcast as Smile (binary JSON) bytes rather than Java-serialized objects.
+ * <p>
+ * The cache advice runs outside the transaction advice, so a hit never opens a transaction and a
+ * load, including a background revalidation, runs in its own.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfiguration {
+
+    public static final String REVALIDATION_EXECUTOR = "cacheRevalidationExecutor";
+
+    @Value("${application.cache.l1.max-entries:1000}")
+    private int l1MaxEntries;
+
+    @Value("${application.cache.l1.ttl-seconds:30}")
+    private long l1TtlSeconds;
+
+    @Value("${application.cache.stale-while-revalidate.enabled:false}")
+    private boolean staleWhileRevalidate;
+
+    @Value("${application.cache.stale-while-revalidate.parallelism:2}")
+    private int revalidationParallelism;
+
+    @Value("${application.cache.stale-while-revalidate.queue-capacity:100}")
+    private int revalidationQueueCapacity;
+
+    @Bean(name = REVALIDATION_EXECUTOR)
+    public ThreadPoolTaskExecutor cacheRevalidationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("cache-revalidation-");
+        executor.setCorePoolSize(revalidationParallelism);
+        executor.setMaxPoolSize(revalidationParallelism);
+        executor.setQueueCapacity(revalidationQueueCapacity);
+        // a dropped reload keeps serving the stale value; it must never block the request
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    @Bean
+    public CacheManager cacheManager(HazelcastInstance hazelcastInstance, MeterRegistry meterRegistry,
+                                     ObjectMapper objectMapper, ObjectProvider<StaleKeyResolver> staleKeys,
+                                     @Qualifier(REVALIDATION_EXECUTOR) ThreadPoolTaskExecutor cacheRevalidationExecutor) {
+        // reloads call the authorization server with the caller's JWT
+        DelegatingSecurityContextExecutor revalidation = staleWhileRevalidate
+                ? new DelegatingSecurityContextExecutor(cacheRevalidationExecutor)
+                : null;
+        return new TwoLevelCacheManager(new HazelcastCacheManager(hazelcastInstance), hazelcastInstance,
+                meterRegistry, new JsonCacheCodec(objectMapper), l1MaxEntries, l1TtlSeconds * 1000,
+                staleKeys, revalidation);
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.ccnta.app.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded executor used to resolve the remote parts of a response (user profiles) concurrently.
+ * Virtual thread mode keeps the same bound through a concurrency limit.
+ */
+@Configuration
+public class EnrichmentConfiguration {
+
+    public static final String ENRICHMENT_EXECUTOR = "enrichmentTaskExecutor";
+
+    @Value("${application.user-directory.parallelism:4}")
+    private int parallelism;
+
+    @Value("${application.user-directory.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Bean(name = ENRICHMENT_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor platformEnrichmentTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("note-enrichment-");
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    @Bean(name = ENRICHMENT_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualEnrichmentTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("note-enrichment-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(parallelism);
+        return executor;
+    }
+
+}
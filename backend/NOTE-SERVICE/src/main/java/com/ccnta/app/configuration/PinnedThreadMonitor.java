@@ -0,0 +1,84 @@
+package com.ccnta.app.configuration;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Logs virtual threads that stay pinned to their carrier, typically inside a synchronized block
+ * around blocking I/O, for longer than {@code application.virtual-threads.pinned-threshold-ms}.
+ * Uses the JFR {@code jdk.VirtualThreadPinned} event, so no recording file is written.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class PinnedThreadMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 15;
+
+    @Value("${application.virtual-threads.pinned-threshold-ms:20}")
+    private long thresholdMs;
+
+    private RecordingStream recordingStream;
+
+    @Override
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(thresholdMs))
+                .withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::report);
+        recordingStream.startAsync();
+        log.info("Pinned virtual thread monitor started with threshold {} ms", thresholdMs);
+    }
+
+    @Override
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    private void report(RecordedEvent event) {
+        String thread = event.getThread() != null ? event.getThread().getJavaName() : "unknown";
+        log.warn("Virtual thread {} pinned for {} ms:\n{}", thread, event.getDuration().toMillis(), stackTrace(event));
+    }
+
+    private static String stackTrace(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return "\t<no stack trace>";
+        }
+
+        return stackTrace.getFrames()
+                .stream()
+                .limit(MAX_FRAMES)
+                .map(PinnedThreadMonitor::frame)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return String.format("\tat %s.%s(line %d)",
+                frame.getMethod().getType().getName(),
+                frame.getMethod().getName(),
+                frame.getLineNumber());
+    }
+
+}
@@ -3,11 +3,13 @@ package com.ccnta.app.configuration;
 import com.ccnta.app.configuration.interceptor.AuthorizationInterceptor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.DefaultResponseErrorHandler;
@@ -23,7 +25,11 @@ import java.util.List;
 public class RestTemplateConfiguration {
 
     @Bean
-    public RestTemplate restTemplate(AuthorizationInterceptor authorizationInterceptor, ObjectMapper objectMapper) {
+    public RestTemplate restTemplate(
+            AuthorizationInterceptor authorizationInterceptor,
+            ObjectMapper objectMapper,
+            ObjectProvider<ClientHttpRequestFactory> requestFactory
+    ) {
         // Create message converter with custom media type support
         MappingJackson2HttpMessageConverter messageConverter = new MappingJackson2HttpMessageConverter(objectMapper);
         List<MediaType> supportedMediaTypes = new ArrayList<>(messageConverter.getSupportedMediaTypes());
@@ -31,7 +37,7 @@ public class RestTemplateConfiguration {
         supportedMediaTypes.add(MediaType.TEXT_HTML);
         messageConverter.setSupportedMediaTypes(supportedMediaTypes);
 
-        return new RestTemplateBuilder()
+        RestTemplate restTemplate = new RestTemplateBuilder()
                 .setConnectTimeout(Duration.ofSeconds(5))
                 .setReadTimeout(Duration.ofSeconds(5))
                 .interceptors(authorizationInterceptor)
@@ -69,6 +75,10 @@ public class RestTemplateConfiguration {
                     }
                 })
                 .build();
+
+        // Virtual thread mode supplies its own HTTP client, see VirtualThreadConfiguration
+        requestFactory.ifAvailable(restTemplate::setRequestFactory);
+        return restTemplate;
     }
 
 }
\ No newline at end of file
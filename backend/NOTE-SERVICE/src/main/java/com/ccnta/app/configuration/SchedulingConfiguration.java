@@ -0,0 +1,13 @@
+package com.ccnta.app.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on {@code @Scheduled}, used by the collaboration checkpoints, the presence tick and the draft autosave flush.
+ * The scheduler has a thread per task (spring.task.scheduling.pool.size) so a slow write does not delay the tick.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
@@ -25,6 +25,8 @@ public class SecurityConfiguration {
                 cc.setAllowedOrigins(List.of("http://127.0.0.1:3000"));
                 cc.setAllowedHeaders(List.of("*"));
                 cc.setAllowedMethods(List.of("*"));
+                // lets the frontend read ETags and send them back as If-None-Match
+                cc.setExposedHeaders(List.of("ETag"));
                 return cc;
             };
 
@@ -0,0 +1,49 @@
+package com.ccnta.app.configuration;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Opt-in virtual thread mode, active when {@code spring.threads.virtual.enabled=true} on Java 21+.
+ * <p>
+ * Spring Boot already moves Tomcat request handling onto virtual threads in this mode. This
+ * configuration does the same for outbound calls to the authorization server and exposes an
+ * executor that carries the caller's SecurityContext, so {@code SecurityTokenProvider} and
+ * {@code AuthorizationInterceptor} still find the JWT when work is handed off.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfiguration {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration READ_TIMEOUT = Duration.ofSeconds(5);
+
+    @Bean
+    public AsyncTaskExecutor outboundTaskExecutor() {
+        return new DelegatingSecurityContextAsyncTaskExecutor(new VirtualThreadTaskExecutor("note-outbound-"));
+    }
+
+    @Bean
+    public ClientHttpRequestFactory clientHttpRequestFactory(@Qualifier("outboundTaskExecutor") AsyncTaskExecutor outboundTaskExecutor) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(CONNECT_TIMEOUT)
+                .executor(outboundTaskExecutor)
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(READ_TIMEOUT);
+        return requestFactory;
+    }
+
+}
@@ -1,6 +1,8 @@
 package com.ccnta.app.configuration;
 
 import com.ccnta.app.configuration.interceptor.PermissionInterceptor;
+import com.ccnta.app.configuration.response.ConditionalGetInterceptor;
+import com.ccnta.app.configuration.response.ResponseCacheInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -11,11 +13,20 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebMvcConfiguration implements WebMvcConfigurer {
 
     private final PermissionInterceptor permissionInterceptor;
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+    private final ResponseCacheInterceptor responseCacheInterceptor;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(permissionInterceptor)
                 .addPathPatterns("/**")
                 .excludePathPatterns("/static/**", "/webjars/**");
+        // after permissions, so a 304 or a cached response only goes to a caller who may still see it
+        registry.addInterceptor(conditionalGetInterceptor)
+                .addPathPatterns("/**")
+                .excludePathPatterns("/static/**", "/webjars/**");
+        registry.addInterceptor(responseCacheInterceptor)
+                .addPathPatterns("/**")
+                .excludePathPatterns("/static/**", "/webjars/**");
     }
 }
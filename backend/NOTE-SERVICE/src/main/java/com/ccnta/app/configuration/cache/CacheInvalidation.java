@@ -0,0 +1,12 @@
+package com.ccnta.app.configuration.cache;
+
+import java.io.Serializable;
+
+/**
+ * Broadcast when a node writes to a two-level cache, so the other nodes drop their L1 copy.
+ *
+ * @param cacheName cache that changed
+ * @param key       key that changed, or null when the whole cache was cleared
+ */
+public record CacheInvalidation(String cacheName, Object key) implements Serializable {
+}
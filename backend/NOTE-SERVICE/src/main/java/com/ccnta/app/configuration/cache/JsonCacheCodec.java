@@ -0,0 +1,95 @@
+package com.ccnta.app.configuration.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileConstants;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.io.IOException;
+
+/**
+ * Stores cached values in L2 as Smile (binary JSON) {@code byte[]} instead of Java-serialized object graphs.
+ * <p>
+ * Type ids are only written where the static type is lost, i.e. the value itself and
+ * {@code Object}/generic properties such as {@code GlobalResponse.data}, so nested DTOs are plain JSON.
+ * Property names and short string values (usernames, emails, timestamps) repeated across the graph
+ * are written once and referenced after, which plain JSON cannot do and Java serialization only does
+ * for identical instances. Strings, numbers and booleans are left to Hazelcast's own serializers,
+ * which are already compact and keep their exact type (a JSON {@code Long} would read back as an {@code Integer}).
+ */
+public class JsonCacheCodec {
+
+    private static final PolymorphicTypeValidator TYPES = BasicPolymorphicTypeValidator.builder()
+            .allowIfSubType("com.ccnta.app.")
+            .allowIfSubType("java.util.")
+            .allowIfSubType("java.lang.")
+            .build();
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    // entries written as JSON text by nodes still on the previous version
+    private final ObjectReader textReader;
+
+    public JsonCacheCodec(ObjectMapper objectMapper) {
+        SmileFactory smile = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        ObjectMapper mapper = configure(objectMapper.copyWith(smile));
+        this.writer = mapper.writerFor(Object.class);
+        this.reader = mapper.readerFor(Object.class);
+        this.textReader = configure(objectMapper.copy()).readerFor(Object.class);
+    }
+
+    /**
+     * Converts a value into what is stored in L2.
+     */
+    public Object encode(Object value) {
+        if (isNative(value)) {
+            return value;
+        }
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to encode cache value of type " + value.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Converts what was stored in L2 back into the cached value.
+     */
+    public Object decode(Object stored) {
+        if (!(stored instanceof byte[] bytes)) {
+            return stored;
+        }
+        try {
+            return (isSmile(bytes) ? reader : textReader).readValue(bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to decode cached value", e);
+        }
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        return mapper
+                .activateDefaultTyping(TYPES, ObjectMapper.DefaultTyping.JAVA_LANG_OBJECT, JsonTypeInfo.As.PROPERTY)
+                // entries written by an older version of a DTO must not fail a read
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    private static boolean isSmile(byte[] bytes) {
+        return bytes.length >= 3
+                && bytes[0] == SmileConstants.HEADER_BYTE_1
+                && bytes[1] == SmileConstants.HEADER_BYTE_2
+                && bytes[2] == SmileConstants.HEADER_BYTE_3;
+    }
+
+    private static boolean isNative(Object value) {
+        return value == null || value instanceof String || value instanceof Number || value instanceof Boolean;
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.ccnta.app.configuration.cache;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.cache.Cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small per-node LRU with a TTL, used as the L1 of a {@link TwoLevelCache}.
+ * Values are kept as {@link Cache.ValueWrapper} so cached nulls are told apart from misses.
+ */
+final class LocalCache {
+
+    private final long ttlMillis;
+    private final Counter evictions;
+    private final LinkedHashMap<Object, Entry> entries;
+    // bumped by every removal, so a fill that raced with an invalidation is dropped
+    private long version;
+
+    LocalCache(int maxEntries, long ttlMillis, Counter evictions) {
+        this.ttlMillis = ttlMillis;
+        this.evictions = evictions;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                boolean full = size() > maxEntries;
+                if (full) {
+                    evictions.increment();
+                }
+                return full;
+            }
+        };
+    }
+
+    synchronized Cache.ValueWrapper get(Object key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key);
+            evictions.increment();
+            return null;
+        }
+        return entry.value();
+    }
+
+    synchronized long version() {
+        return version;
+    }
+
+    synchronized void put(Object key, Cache.ValueWrapper value) {
+        entries.put(key, new Entry(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * Caches a value read from L2, unless an invalidation arrived since {@code readAt} was taken.
+     */
+    synchronized void fill(Object key, Cache.ValueWrapper value, long readAt) {
+        if (version == readAt) {
+            put(key, value);
+        }
+    }
+
+    synchronized void remove(Object key) {
+        version++;
+        entries.remove(key);
+    }
+
+    synchronized void clear() {
+        version++;
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry(Cache.ValueWrapper value, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.ccnta.app.configuration.cache;
+
+/**
+ * Opts a cache into stale-while-revalidate: on a miss, names the key whose value may be served
+ * while the requested one loads in the background.
+ */
+public interface StaleKeyResolver {
+
+    String cacheName();
+
+    /**
+     * @param key key that missed
+     * @return the key holding an acceptable stale value, or null when the miss has to load in the foreground
+     */
+    Object staleKey(Object key);
+
+}
@@ -0,0 +1,217 @@
+package com.ccnta.app.configuration.cache;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * A per-node {@link LocalCache} (L1) in front of a shared cache (L2, Hazelcast).
+ * <p>
+ * Reads try L1 first and fill it from L2. Writes go to L2, update this node's L1 right away,
+ * and publish a {@link CacheInvalidation} so the other nodes drop their L1 copy.
+ * L1 holds live objects; L2 holds what the {@link JsonCacheCodec} produced.
+ * <p>
+ * Loads through {@link #get(Object, Callable)} ({@code @Cacheable(sync = true)}) are single-flight:
+ * concurrent misses for a key on this node wait for one loader, and that loader holds the L2 key
+ * lock, so one loader runs per key cluster-wide. With a {@link StaleKeyResolver}, a miss that has
+ * an acceptable stale value returns it and reloads in the background instead, and marks the current
+ * request with {@link #STALE_SERVED} so the response built from it is not cached any longer than that.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    public static final String STALE_SERVED = TwoLevelCache.class.getName() + ".staleServed";
+
+    private final Cache l2;
+    private final LocalCache l1;
+    private final JsonCacheCodec codec;
+    private final Consumer<CacheInvalidation> publisher;
+    private final StaleKeyResolver staleKeys;
+    private final Executor revalidationExecutor;
+    private final Map<Object, CompletableFuture<Object>> loads = new ConcurrentHashMap<>();
+    private final TierCounters counters;
+
+    TwoLevelCache(Cache l2, LocalCache l1, JsonCacheCodec codec, Consumer<CacheInvalidation> publisher,
+                  StaleKeyResolver staleKeys, Executor revalidationExecutor, TierCounters counters) {
+        this.l2 = l2;
+        this.l1 = l1;
+        this.codec = codec;
+        this.publisher = publisher;
+        this.staleKeys = staleKeys;
+        this.revalidationExecutor = revalidationExecutor;
+        this.counters = counters;
+    }
+
+    @Override
+    public String getName() {
+        return l2.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper local = l1.get(key);
+        if (local != null) {
+            counters.l1Hits().increment();
+            return local;
+        }
+        counters.l1Misses().increment();
+
+        long readAt = l1.version();
+        ValueWrapper stored = l2.get(key);
+        if (stored == null) {
+            counters.l2Misses().increment();
+            return null;
+        }
+
+        counters.l2Hits().increment();
+        ValueWrapper shared = new SimpleValueWrapper(codec.decode(stored.get()));
+        l1.fill(key, shared, readAt);
+        return shared;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        ValueWrapper stale = stale(key);
+        if (stale != null) {
+            counters.staleServed().increment();
+            markStaleServed();
+            revalidate(key, valueLoader);
+            return (T) stale.get();
+        }
+
+        try {
+            return (T) load(key, valueLoader).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, codec.encode(value));
+        l1.put(key, new SimpleValueWrapper(value));
+        publisher.accept(new CacheInvalidation(getName(), key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        l1.remove(key);
+        publisher.accept(new CacheInvalidation(getName(), key));
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        l1.clear();
+        publisher.accept(new CacheInvalidation(getName(), null));
+    }
+
+    /**
+     * Applies an invalidation published by another node; L2 is shared, so only L1 changes.
+     */
+    void invalidateLocal(Object key) {
+        if (key == null) {
+            l1.clear();
+        } else {
+            l1.remove(key);
+        }
+    }
+
+    /**
+     * Joins the load already running for the key on this node, or runs it on the calling thread.
+     */
+    private CompletableFuture<Object> load(Object key, Callable<?> valueLoader) {
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> running = loads.putIfAbsent(key, load);
+        if (running != null) {
+            counters.coalesced().increment();
+            return running;
+        }
+
+        try {
+            long readAt = l1.version();
+            // the L2 loader runs under the Hazelcast key lock and re-checks the entry first
+            Object value = codec.decode(l2.get(key, () -> codec.encode(valueLoader.call())));
+            l1.fill(key, new SimpleValueWrapper(value), readAt);
+            load.complete(value);
+        } catch (Throwable e) {
+            load.completeExceptionally(e);
+        } finally {
+            loads.remove(key, load);
+        }
+        return load;
+    }
+
+    private ValueWrapper stale(Object key) {
+        if (staleKeys == null) {
+            return null;
+        }
+        Object staleKey = staleKeys.staleKey(key);
+        return staleKey != null ? get(staleKey) : null;
+    }
+
+    private static void markStaleServed() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(STALE_SERVED, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private void revalidate(Object key, Callable<?> valueLoader) {
+        if (loads.containsKey(key)) {
+            return;
+        }
+        try {
+            revalidationExecutor.execute(() -> load(key, valueLoader).exceptionally(e -> {
+                log.warn("Background reload of {} in cache {} failed: {}", key, getName(), e.getMessage());
+                return null;
+            }));
+        } catch (RejectedExecutionException e) {
+            // the stale value is still served; a later miss retries the reload
+            log.debug("Background reload of {} in cache {} rejected", key, getName());
+        }
+    }
+
+    record TierCounters(Counter l1Hits, Counter l1Misses, Counter l2Hits, Counter l2Misses,
+                        Counter coalesced, Counter staleServed) {
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.ccnta.app.configuration.cache;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Wraps the Hazelcast {@link CacheManager} so every cache gets a per-node {@link LocalCache} in front of it.
+ * <p>
+ * Writes and evictions are broadcast on the {@code cache-invalidation} topic, and every node drops the
+ * matching L1 entries. The writing node updates its own L1 synchronously, so it reads its own writes;
+ * other nodes converge as soon as the message arrives, and the L1 TTL bounds a lost one.
+ * <p>
+ * When stale-while-revalidate is on, caches with a matching {@link StaleKeyResolver} bean reload
+ * on {@code revalidationExecutor} while serving the stale value.
+ * <p>
+ * Exposes {@code cache.tier.requests} (tagged {@code cache}, {@code tier=l1|l2}, {@code result=hit|miss}),
+ * {@code cache.tier.evictions} (tagged {@code cache}, {@code tier=l1|l2}), {@code cache.tier.size}
+ * (L1 entries), {@code cache.loads.coalesced} and {@code cache.stale.served} through Micrometer.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager {
+
+    private static final String TOPIC = "cache-invalidation";
+    private static final String REQUESTS = "cache.tier.requests";
+    private static final String EVICTIONS = "cache.tier.evictions";
+
+    private final CacheManager l2;
+    private final MeterRegistry meterRegistry;
+    private final ITopic<CacheInvalidation> topic;
+    private final JsonCacheCodec codec;
+    private final ObjectProvider<StaleKeyResolver> staleKeys;
+    private final Executor revalidationExecutor;
+    private final int l1MaxEntries;
+    private final long l1TtlMillis;
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager l2, HazelcastInstance hazelcastInstance, MeterRegistry meterRegistry,
+                                JsonCacheCodec codec, int l1MaxEntries, long l1TtlMillis,
+                                ObjectProvider<StaleKeyResolver> staleKeys, Executor revalidationExecutor) {
+        this.l2 = l2;
+        this.codec = codec;
+        this.staleKeys = staleKeys;
+        this.revalidationExecutor = revalidationExecutor;
+        this.meterRegistry = meterRegistry;
+        this.topic = hazelcastInstance.getTopic(TOPIC);
+        this.l1MaxEntries = l1MaxEntries;
+        this.l1TtlMillis = l1TtlMillis;
+        this.topic.addMessageListener(this::onInvalidation);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache shared = l2.getCache(name);
+        if (shared == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> create(shared));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return l2.getCacheNames();
+    }
+
+    private TwoLevelCache create(Cache shared) {
+        String name = shared.getName();
+        LocalCache local = new LocalCache(l1MaxEntries, l1TtlMillis,
+                meterRegistry.counter(EVICTIONS, "cache", name, "tier", "l1"));
+
+        Gauge.builder("cache.tier.size", local, LocalCache::size)
+                .tag("cache", name)
+                .tag("tier", "l1")
+                .register(meterRegistry);
+
+        if (shared.getNativeCache() instanceof IMap<?, ?> map) {
+            FunctionCounter.builder(EVICTIONS, map, m -> m.getLocalMapStats().getEvictionCount())
+                    .tag("cache", name)
+                    .tag("tier", "l2")
+                    .register(meterRegistry);
+        }
+
+        TwoLevelCache.TierCounters counters = new TwoLevelCache.TierCounters(
+                requests(name, "l1", "hit"),
+                requests(name, "l1", "miss"),
+                requests(name, "l2", "hit"),
+                requests(name, "l2", "miss"),
+                meterRegistry.counter("cache.loads.coalesced", "cache", name),
+                meterRegistry.counter("cache.stale.served", "cache", name));
+        return new TwoLevelCache(shared, local, codec, this::publish, staleKeys(name), revalidationExecutor, counters);
+    }
+
+    private StaleKeyResolver staleKeys(String name) {
+        if (revalidationExecutor == null) {
+            return null;
+        }
+        return staleKeys.orderedStream()
+                .filter(resolver -> resolver.cacheName().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private Counter requests(String name, String tier, String result) {
+        return meterRegistry.counter(REQUESTS, "cache", name, "tier", tier, "result", result);
+    }
+
+    private void publish(CacheInvalidation invalidation) {
+        try {
+            topic.publish(invalidation);
+        } catch (Exception e) {
+            // other nodes fall back to the L1 TTL
+            log.warn("Failed to broadcast cache invalidation {}: {}", invalidation, e.getMessage());
+        }
+    }
+
+    private void onInvalidation(Message<CacheInvalidation> message) {
+        if (message.getPublishingMember().localMember()) {
+            return;
+        }
+        CacheInvalidation invalidation = message.getMessageObject();
+        TwoLevelCache cache = caches.get(invalidation.cacheName());
+        if (cache != null) {
+            cache.invalidateLocal(invalidation.key());
+        }
+    }
+
+}
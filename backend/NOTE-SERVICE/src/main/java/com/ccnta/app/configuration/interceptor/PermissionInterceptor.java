@@ -1,10 +1,7 @@
 package com.ccnta.app.configuration.interceptor;
 
-import com.ccnta.app.authority.emums.Permissions;
-import com.ccnta.app.authority.entity.Authority;
-import com.ccnta.app.authority.entity.Permission;
-import com.ccnta.app.collaborator.entity.Collaborator;
-import com.ccnta.app.collaborator.service.CollaboratorService;
+import com.ccnta.app.authority.model.ProjectAccess;
+import com.ccnta.app.authority.service.PermissionCache;
 import com.ccnta.app.project.repository.ProjectRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,15 +11,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
 
 import java.time.Instant;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
@@ -30,8 +24,9 @@ public class PermissionInterceptor implements HandlerInterceptor {
 
     private static final Logger logger = LoggerFactory.getLogger(PermissionInterceptor.class);
 
-    private final CollaboratorService collaboratorService;
     private final ProjectRepository projectRepository;
+    private final PermissionCache permissionCache;
+    private final PermissionRoutes permissionRoutes;
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
     @Override
@@ -40,13 +35,11 @@ public class PermissionInterceptor implements HandlerInterceptor {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         String method = request.getMethod();
         String uri = request.getRequestURI();
+        RequestMethod requestMethod = RequestMethod.resolve(method);
+        PermissionRoutes.Route route = permissionRoutes.resolve(handler);
 
-        // Allow project creation for all authenticated users
-        if ((uri.contains("/projects/create") && method.equals("POST"))
-                || (uri.contains("/projects/all") && method.equals("GET"))
-                || (uri.contains("/notes/all") && method.equals("GET"))
-                || (uri.contains("/authorities")
-        )) {
+        // Allow project creation and user-scoped listings for all authenticated users
+        if (route.isOpen(requestMethod)) {
             return true;
         }
 
@@ -62,100 +55,37 @@ public class PermissionInterceptor implements HandlerInterceptor {
             return false;
         }
 
-        // Check if the user is the project owner
-        var projectOpt = projectRepository.findByProjectId(projectId, username);
-        if (projectOpt.isPresent() && projectOpt.get().getCreatedBy().equals(username)) {
+        ProjectAccess access = permissionCache.get(username, projectId,
+                () -> ProjectAccess.of(projectRepository.findAccess(username, projectId, null)));
+
+        if (access.isOwner()) {
             return true; // Project owner has full access
         }
 
-        Optional<Collaborator> collaboratorOpt = collaboratorService.getCollaboratorByUsernameAndProjectId(username, projectId);
-
-        if (collaboratorOpt.isEmpty()) {
+        if (!access.isCollaborator()) {
             logger.warn("User {} is not a collaborator on project {}", username, projectId);
             sendForbiddenResponse(request, response, "You do not have permission to access this project.");
             return false;
         }
 
-        Collaborator collaborator = collaboratorOpt.get();
-        Set<Authority> authorities = collaborator.getAuthorities();
-        boolean isAuthorized = checkAuthorization(authorities, method, uri, noteId, draftId, collaborator);
+        boolean isAuthorized = access.hasAny(route.required(requestMethod))
+                && (!access.isEditor() || !route.requiresOwnership(requestMethod)
+                || isResourceOwner(username, projectId, noteId != null ? noteId : draftId));
 
         if (!isAuthorized) {
-            logger.warn("User {} with role {} is not authorized to perform {} on {}", username, authorities, method, uri);
+            logger.warn("User {} with role {} is not authorized to perform {} on {}", username, access.getAuthorities(), method, uri);
             sendForbiddenResponse(request, response, "You are not authorized to perform this action");
             return false;
         }
 
-        logger.info("User {} with role {} is authorized to perform {} on {}", username, authorities, method, uri);
+        logger.info("User {} with role {} is authorized to perform {} on {}", username, access.getAuthorities(), method, uri);
         return true;
     }
 
-    private boolean checkAuthorization(Set<Authority> authorities, String method, String uri, String noteId, String draftId, Collaborator collaborator) {
-
-        Set<String> authorityNames = authorities
-                .stream()
-                .map(Authority::getName)
-                .collect(Collectors.toSet());
-
-        Set<String> permissions = authorities
-                .stream()
-                .flatMap(ae -> ae.getPermissions().stream())
-                .map(Permission::getName)
-                .collect(Collectors.toSet());
-
-        // Use pattern matching switch expression with null checks
-        return switch (getEndpointType(uri)) {
-            case NOTES -> checkNotePermissions(method, permissions, authorityNames, noteId, collaborator);
-            case COLLABORATORS -> checkCollaboratorPermissions(method, permissions);
-            case DRAFTS -> checkDraftPermissions(method, permissions, authorityNames, draftId, collaborator);
-            case PROJECT -> checkProjectPermissions(method, permissions);
-        };
-    }
-
-    private EndpointType getEndpointType(String uri) {
-        if (uri.endsWith("/notes") || uri.contains("/notes/")) return EndpointType.NOTES;
-        if (uri.contains("/collaborators")) return EndpointType.COLLABORATORS;
-        if (uri.contains("/drafts")) return EndpointType.DRAFTS;
-        return EndpointType.PROJECT;
-    }
-
-    private boolean checkNotePermissions(String method, Set<String> permissions, Set<String> authorities, String noteId, Collaborator collaborator) {
-        return switch (method.toUpperCase()) {
-            case "GET" -> permissions.contains(Permissions.VIEW_NOTE.name());
-            case "POST" -> permissions.contains(Permissions.CREATE_NOTE.name());
-            case "PUT" -> permissions.contains(Permissions.EDIT_NOTE.name());
-            case "DELETE" -> authorities.contains("EDITOR")
-                    ? permissions.contains(Permissions.DELETE_NOTE.name()) && collaboratorService.isNoteOwnedByCollaborator(noteId, collaborator.getId())
-                    : permissions.contains(Permissions.DELETE_NOTE.name());
-            default -> false;
-        };
-    }
-
-    private boolean checkCollaboratorPermissions(String method, Set<String> permissions) {
-        return method.equalsIgnoreCase("GET")
-                ? permissions.contains(Permissions.VIEW_COLLABORATORS.name())
-                : permissions.contains(Permissions.MANAGE_COLLABORATORS.name());
-    }
-
-    private boolean checkDraftPermissions(String method, Set<String> permissions, Set<String> authorities, String draftId, Collaborator collaborator) {
-        return switch (method.toUpperCase()) {
-            case "GET" -> permissions.contains(Permissions.VIEW_NOTE.name());
-            case "POST" -> permissions.contains(Permissions.CREATE_NOTE.name());
-            case "PUT" -> permissions.contains(Permissions.EDIT_NOTE.name());
-            case "DELETE" -> authorities.contains("EDITOR")
-                    ? permissions.contains(Permissions.DELETE_NOTE.name()) && collaboratorService.isDraftOwnedByCollaborator(draftId, collaborator.getId())
-                    : permissions.contains(Permissions.DELETE_NOTE.name());
-            default -> false;
-        };
-    }
-
-    private boolean checkProjectPermissions(String method, Set<String> permissions) {
-        return switch (method.toUpperCase()) {
-            case "GET" -> permissions.contains(Permissions.VIEW_PROJECT.name());
-            case "PUT", "DELETE" ->
-                    permissions.contains(Permissions.EDIT_PROJECT.name()) || permissions.contains(Permissions.DELETE_PROJECT.name());
-            default -> false;
-        };
+    // ownership of a single note/draft is not cached, it is only needed for EDITOR deletes
+    private boolean isResourceOwner(String username, String projectId, String resourceId) {
+        return resourceId != null
+                && ProjectAccess.of(projectRepository.findAccess(username, projectId, resourceId)).isResourceOwner();
     }
 
     private void sendForbiddenResponse(HttpServletRequest request, HttpServletResponse response, String message) throws Exception {
@@ -197,9 +127,5 @@ public class PermissionInterceptor implements HandlerInterceptor {
 
         return null;
     }
-
-    private enum EndpointType {
-        NOTES, COLLABORATORS, DRAFTS, PROJECT
-    }
 }
 
@@ -0,0 +1,156 @@
+package com.ccnta.app.configuration.interceptor;
+
+import com.ccnta.app.authority.emums.Permissions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Route table for {@link PermissionInterceptor}, built once from the request mappings when the
+ * context is refreshed. Each controller method gets the permission it requires per HTTP method,
+ * so a request is resolved with a map lookup instead of matching its URI.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PermissionRoutes {
+
+    // user-scoped endpoints that any authenticated user may call
+    private static final Set<String> OPEN_GET_PATTERNS = Set.of(
+            "/projects/all", "/notes/all", "/projects/scroll", "/notes/scroll", "/drafts/scroll");
+    private static final String OPEN_POST_PATTERN = "/projects/create";
+    private static final String OPEN_PREFIX = "/authorities";
+
+    private static final long PROJECT_WRITE = Permissions.mask(Permissions.EDIT_PROJECT, Permissions.DELETE_PROJECT);
+
+    // for handlers that are not controller methods, matching the old catch-all
+    private static final Route DEFAULT = route(EndpointType.PROJECT, Set.of(""), EnumSet.allOf(RequestMethod.class));
+
+    private final ApplicationContext applicationContext;
+
+    private volatile Map<Method, Route> routes = Map.of();
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void build() {
+        // looked up here rather than injected: the handler mapping itself depends on the interceptor
+        RequestMappingHandlerMapping handlerMapping =
+                applicationContext.getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+
+        Map<Method, Route> table = new HashMap<>();
+        handlerMapping.getHandlerMethods().forEach((info, handlerMethod) ->
+                table.put(handlerMethod.getMethod(), route(info)));
+
+        routes = Map.copyOf(table);
+        log.info("Built permission routes for {} handler methods", routes.size());
+    }
+
+    public Route resolve(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            Route route = routes.get(handlerMethod.getMethod());
+            if (route != null) {
+                return route;
+            }
+        }
+        return DEFAULT;
+    }
+
+    private static Route route(RequestMappingInfo info) {
+        Set<String> patterns = info.getPatternValues();
+        Set<RequestMethod> methods = info.getMethodsCondition().getMethods().isEmpty()
+                ? EnumSet.allOf(RequestMethod.class)
+                : EnumSet.copyOf(info.getMethodsCondition().getMethods());
+
+        return route(endpointType(patterns), patterns, methods);
+    }
+
+    private static Route route(EndpointType type, Set<String> patterns, Set<RequestMethod> methods) {
+        EnumSet<RequestMethod> open = EnumSet.noneOf(RequestMethod.class);
+        long[] required = new long[RequestMethod.values().length];
+
+        for (RequestMethod method : methods) {
+            if (patterns.stream().anyMatch(pattern -> isOpen(pattern, method))) {
+                open.add(method);
+            }
+            required[method.ordinal()] = required(type, method);
+        }
+
+        return new Route(type, open, required);
+    }
+
+    private static EndpointType endpointType(Set<String> patterns) {
+        String pattern = patterns.isEmpty() ? "" : patterns.iterator().next();
+        if (pattern.startsWith("/notes")) return EndpointType.NOTES;
+        if (pattern.startsWith("/collaborators")) return EndpointType.COLLABORATORS;
+        if (pattern.startsWith("/drafts")) return EndpointType.DRAFTS;
+        return EndpointType.PROJECT;
+    }
+
+    private static boolean isOpen(String pattern, RequestMethod method) {
+        return pattern.startsWith(OPEN_PREFIX)
+                || (method == RequestMethod.POST && pattern.equals(OPEN_POST_PATTERN))
+                || (method == RequestMethod.GET && OPEN_GET_PATTERNS.contains(pattern));
+    }
+
+    // notes and drafts share the note permissions
+    private static long required(EndpointType type, RequestMethod method) {
+        return switch (type) {
+            case NOTES, DRAFTS -> switch (method) {
+                case GET -> Permissions.VIEW_NOTE.bit();
+                case POST -> Permissions.CREATE_NOTE.bit();
+                case PUT, PATCH -> Permissions.EDIT_NOTE.bit();
+                case DELETE -> Permissions.DELETE_NOTE.bit();
+                default -> 0L;
+            };
+            case COLLABORATORS -> method == RequestMethod.GET
+                    ? Permissions.VIEW_COLLABORATORS.bit()
+                    : Permissions.MANAGE_COLLABORATORS.bit();
+            case PROJECT -> switch (method) {
+                case GET -> Permissions.VIEW_PROJECT.bit();
+                case PUT, DELETE -> PROJECT_WRITE;
+                default -> 0L;
+            };
+        };
+    }
+
+    public enum EndpointType {
+        NOTES, COLLABORATORS, DRAFTS, PROJECT
+    }
+
+    /**
+     * Permission rules of one controller method.
+     */
+    public record Route(EndpointType type, Set<RequestMethod> open, long[] required) {
+
+        public boolean isOpen(RequestMethod method) {
+            return method != null && open.contains(method);
+        }
+
+        /**
+         * @return any-of {@link Permissions} mask the method requires, 0 when it is never allowed
+         */
+        public long required(RequestMethod method) {
+            return method == null ? 0L : required[method.ordinal()];
+        }
+
+        /**
+         * An EDITOR may only delete the notes and drafts they created.
+         */
+        public boolean requiresOwnership(RequestMethod method) {
+            return method == RequestMethod.DELETE && (type == EndpointType.NOTES || type == EndpointType.DRAFTS);
+        }
+    }
+
+}
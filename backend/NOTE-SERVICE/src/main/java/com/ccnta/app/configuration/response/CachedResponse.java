@@ -0,0 +1,17 @@
+package com.ccnta.app.configuration.response;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts a GET handler into the serialized response cache, see {@link ResponseCacheInterceptor}.
+ * Only use it on views that change with the user's project cache generation: projects, notes and drafts.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedResponse {
+}
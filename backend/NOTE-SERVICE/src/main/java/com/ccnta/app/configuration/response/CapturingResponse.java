@@ -0,0 +1,104 @@
+package com.ccnta.app.configuration.response;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Passes the body through unchanged and, once {@link #capture(ResponseKey, int)} was called,
+ * keeps a copy of up to {@code limit} bytes for the response cache. The body is not buffered
+ * in front of the client, so an uncached response streams exactly as before.
+ */
+class CapturingResponse extends HttpServletResponseWrapper {
+
+    private ResponseKey key;
+    private int limit;
+    private ByteArrayOutputStream copy;
+    private ServletOutputStream outputStream;
+
+    CapturingResponse(HttpServletResponse response) {
+        super(response);
+    }
+
+    void capture(ResponseKey key, int limit) {
+        this.key = key;
+        this.limit = limit;
+        this.copy = new ByteArrayOutputStream();
+    }
+
+    ResponseKey key() {
+        return key;
+    }
+
+    /**
+     * @return the captured body, or null when nothing was captured or it outgrew the limit
+     */
+    ByteArrayOutputStream captured() {
+        return copy;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    private void copy(byte[] bytes, int offset, int length) {
+        if (copy == null) {
+            return;
+        }
+        if (copy.size() + length > limit) {
+            copy = null;
+            return;
+        }
+        copy.write(bytes, offset, length);
+    }
+
+    private class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            copy(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            delegate.write(bytes, offset, length);
+            copy(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.ccnta.app.configuration.response;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Gives a GET handler an ETag from the caller's project cache generation, and answers
+ * If-None-Match with 304 before the handler runs, see {@link ConditionalGetInterceptor}.
+ * Meant for user-scoped views without a single version column: listings and project details.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+}
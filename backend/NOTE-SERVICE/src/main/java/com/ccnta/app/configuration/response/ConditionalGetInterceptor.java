@@ -0,0 +1,44 @@
+package com.ccnta.app.configuration.response;
+
+import com.ccnta.app.project.service.ProjectCacheKeys;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Handles {@link ConditionalGet} handlers. The ETag is derived from the user and their project
+ * cache generation, which every project, collaborator, note and draft change of their projects
+ * moves, so it is a single cached lookup and never touches the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final ProjectCacheKeys projectCacheKeys;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())
+                || !(handler instanceof HandlerMethod method)
+                || !method.hasMethodAnnotation(ConditionalGet.class)) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return true;
+        }
+
+        String eTag = projectCacheKeys.eTag(authentication.getName());
+
+        // sets the ETag header either way, and the 304 status when the client's copy is current
+        return !new ServletWebRequest(request, response).checkNotModified(eTag);
+    }
+
+}
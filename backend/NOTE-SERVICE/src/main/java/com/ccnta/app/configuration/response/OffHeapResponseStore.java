@@ -0,0 +1,113 @@
+package com.ccnta.app.configuration.response;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * LRU of serialized response bodies kept in direct buffers, outside the GC-managed heap.
+ * <p>
+ * Bounded by {@code application.response-cache.max-bytes} of body data; the JVM's
+ * {@code -XX:MaxDirectMemorySize} has to leave room for it. Entries live for {@code ttl-seconds}
+ * at most, newer resource versions make older keys unreachable before that.
+ */
+@Component
+public class OffHeapResponseStore {
+
+    private final LinkedHashMap<ResponseKey, StoredResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    @Value("${application.response-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${application.response-cache.max-entry-bytes:1048576}")
+    private int maxEntryBytes;
+
+    @Value("${application.response-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    public OffHeapResponseStore(MeterRegistry meterRegistry) {
+        Gauge.builder("response.cache.bytes", this, OffHeapResponseStore::usedBytes).register(meterRegistry);
+        Gauge.builder("response.cache.size", this, OffHeapResponseStore::size).register(meterRegistry);
+    }
+
+    public int maxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public synchronized Optional<StoredResponse> get(ResponseKey key) {
+        StoredResponse stored = entries.get(key);
+        if (stored == null) {
+            return Optional.empty();
+        }
+        if (stored.isExpired(System.currentTimeMillis())) {
+            remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(stored);
+    }
+
+    public void put(ResponseKey key, byte[] body, int length, String contentType, String eTag) {
+        if (length > maxEntryBytes || length > maxBytes) {
+            return;
+        }
+
+        // copied outside the lock; the heap array is garbage right after this call
+        ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+        buffer.put(body, 0, length).flip();
+        StoredResponse stored = new StoredResponse(buffer.asReadOnlyBuffer(), contentType, eTag,
+                System.currentTimeMillis() + ttlSeconds * 1000);
+
+        synchronized (this) {
+            remove(key);
+            Iterator<Map.Entry<ResponseKey, StoredResponse>> eldest = entries.entrySet().iterator();
+            while (usedBytes + length > maxBytes && eldest.hasNext()) {
+                usedBytes -= eldest.next().getValue().length();
+                eldest.remove();
+            }
+            entries.put(key, stored);
+            usedBytes += length;
+        }
+    }
+
+    private void remove(ResponseKey key) {
+        StoredResponse removed = entries.remove(key);
+        if (removed != null) {
+            usedBytes -= removed.length();
+        }
+    }
+
+    synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * A stored body; readers work on {@link #body()}, which returns an independent view each time.
+     */
+    public record StoredResponse(ByteBuffer buffer, String contentType, String eTag, long expiresAt) {
+
+        public ByteBuffer body() {
+            return buffer.duplicate();
+        }
+
+        public int length() {
+            return buffer.capacity();
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.ccnta.app.configuration.response;
+
+import com.ccnta.app.configuration.cache.TwoLevelCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Wraps GET responses so {@link ResponseCacheInterceptor} can ask for a copy of a cacheable body,
+ * and stores that copy, with its ETag, once the handler completed with 200. A body built from a
+ * stale cache value is not stored: it would outlive the stale-while-revalidate window by the full TTL.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private final OffHeapResponseStore store;
+
+    @Value("${application.response-cache.enabled:false}")
+    private boolean enabled;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CapturingResponse capturing = new CapturingResponse(response);
+        chain.doFilter(request, capturing);
+
+        ByteArrayOutputStream body = capturing.captured();
+        if (body != null && capturing.key() != null && capturing.getStatus() == HttpServletResponse.SC_OK
+                && request.getAttribute(TwoLevelCache.STALE_SERVED) == null) {
+            store.put(capturing.key(), body.toByteArray(), body.size(), capturing.getContentType(),
+                    capturing.getHeader(HttpHeaders.ETAG));
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.ccnta.app.configuration.response;
+
+import com.ccnta.app.project.service.ProjectCacheKeys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Serves {@link CachedResponse} handlers from the {@link OffHeapResponseStore}, writing the stored
+ * JSON bytes straight to the servlet output stream, so a hit skips the service, DTO mapping and
+ * Jackson. On a miss, asks {@link ResponseCacheFilter} to keep a copy of the body.
+ * <p>
+ * Registered after {@code PermissionInterceptor}, so access is still checked on every hit. Keys carry
+ * the user's project cache generation, which project, collaborator, note and draft changes move.
+ * <p>
+ * Exposes {@code response.cache.requests} (tagged {@code result=hit|miss}) through Micrometer.
+ */
+@Component
+public class ResponseCacheInterceptor implements HandlerInterceptor {
+
+    private final OffHeapResponseStore store;
+    private final ProjectCacheKeys projectCacheKeys;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${application.response-cache.enabled:false}")
+    private boolean enabled;
+
+    public ResponseCacheInterceptor(OffHeapResponseStore store, ProjectCacheKeys projectCacheKeys,
+                                    MeterRegistry meterRegistry) {
+        this.store = store;
+        this.projectCacheKeys = projectCacheKeys;
+        this.hits = meterRegistry.counter("response.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("response.cache.requests", "result", "miss");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!enabled || !isCacheable(request, handler)) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        CapturingResponse capturing = WebUtils.getNativeResponse(response, CapturingResponse.class);
+        if (authentication == null || capturing == null) {
+            return true;
+        }
+
+        ResponseKey key = key(request, authentication);
+        Optional<OffHeapResponseStore.StoredResponse> stored = store.get(key);
+        if (stored.isEmpty()) {
+            misses.increment();
+            capturing.capture(key, store.maxEntryBytes());
+            return true;
+        }
+
+        hits.increment();
+        write(request, response, stored.get());
+        return false;
+    }
+
+    private static boolean isCacheable(HttpServletRequest request, Object handler) {
+        return HttpMethod.GET.matches(request.getMethod())
+                && handler instanceof HandlerMethod method
+                && method.hasMethodAnnotation(CachedResponse.class);
+    }
+
+    private ResponseKey key(HttpServletRequest request, Authentication authentication) {
+        String endpoint = request.getQueryString() != null
+                ? request.getRequestURI() + "?" + request.getQueryString()
+                : request.getRequestURI();
+        TreeSet<String> authorities = new TreeSet<>();
+        authentication.getAuthorities().forEach(authority -> authorities.add(authority.getAuthority()));
+        String username = authentication.getName();
+        return new ResponseKey(endpoint, username, String.join(",", authorities), projectCacheKeys.version(username));
+    }
+
+    private static void write(HttpServletRequest request, HttpServletResponse response,
+                              OffHeapResponseStore.StoredResponse stored) throws IOException {
+        // the stored ETag belongs to the stored body, so If-None-Match is answered from it
+        if (stored.eTag() != null && new ServletWebRequest(request, response).checkNotModified(stored.eTag())) {
+            return;
+        }
+
+        ByteBuffer body = stored.body();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(stored.contentType());
+        response.setContentLength(body.remaining());
+
+        WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+        while (body.hasRemaining()) {
+            channel.write(body);
+        }
+        response.flushBuffer();
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.ccnta.app.configuration.response;
+
+/**
+ * Identifies a serialized response: the endpoint with its query, the user and their granted
+ * authorities (so {@code @PreAuthorize} decisions cannot be reused across roles), and the
+ * version of the resources behind it.
+ */
+public record ResponseKey(String endpoint, String username, String authorities, long version) {
+}
@@ -4,10 +4,12 @@ import com.ccnta.app.authority.entity.Authority;
 import com.ccnta.app.media.entity.Image;
 import com.ccnta.app.project.entity.Project;
 import com.ccnta.app.shared.AbstractEntity;
+import com.ccnta.app.shared.Versioned;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -18,12 +20,12 @@ import java.util.Set;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "_draft")
-public class Draft extends AbstractEntity {
+@Table(name = "_draft", indexes = @Index(name = "idx_draft_created_at_id", columnList = "created_at, id"))
+public class Draft extends AbstractEntity implements Versioned {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "_draft_id_seq_generator")
-    @SequenceGenerator(name = "_draft_id_seq_generator", sequenceName = "_draft_id_seq", allocationSize = 1, initialValue = 1)
+    @SequenceGenerator(name = "_draft_id_seq_generator", sequenceName = "_draft_id_seq", allocationSize = 50, initialValue = 1)
     @Column(name = "id", nullable = false, updatable = false, unique = true)
     private Long id;
 
@@ -33,6 +35,11 @@ public class Draft extends AbstractEntity {
     private String title;
     private String content;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "draft", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     private Set<Image> images = new HashSet<>();
@@ -0,0 +1,11 @@
+package com.ccnta.app.draft.model;
+
+import java.io.Serializable;
+
+/**
+ * The latest autosaved title and content of a draft, not yet written to {@code _draft}.
+ * {@code savedAt} tells two autosaves with the same text apart.
+ */
+public record DraftAutosave(String draftId, String projectId, String title, String content,
+                            String username, long savedAt) implements Serializable {
+}
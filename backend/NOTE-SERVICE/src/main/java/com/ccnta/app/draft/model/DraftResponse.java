@@ -3,10 +3,13 @@ package com.ccnta.app.draft.model;
 import com.ccnta.app.collaborator.model.CollaboratorResponse;
 import com.ccnta.app.media.entity.Image;
 import com.ccnta.app.media.model.ImageResponse;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
@@ -14,11 +17,14 @@ import java.util.Set;
 @Getter
 @Setter
 @Builder
-public class DraftResponse {
+@NoArgsConstructor
+@AllArgsConstructor
+public class DraftResponse implements Serializable {
 
     private String draftId;
     private String title;
     private String content;
+    private Long version;
     private Set<ImageResponse> images;
     private CollaboratorResponse createdBy;
     private CollaboratorResponse updatedBy;
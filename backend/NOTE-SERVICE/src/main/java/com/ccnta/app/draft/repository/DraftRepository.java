@@ -1,12 +1,18 @@
 package com.ccnta.app.draft.repository;
 
 import com.ccnta.app.draft.entity.Draft;
+import com.ccnta.app.shared.EntityVersion;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,10 +25,32 @@ public interface DraftRepository extends JpaRepository<Draft, Long> {
     @Query("SELECT D FROM Draft D WHERE D.draftId = :draftId")
     Optional<Draft> findByDraftId(String draftId);
 
+    /**
+     * Loads the draft for a write; its version is incremented on commit even when only its images changed.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT D FROM Draft D WHERE D.draftId = :draftId")
+    Optional<Draft> findForUpdate(@Param("draftId") String draftId);
+
+    @Query("SELECT new com.ccnta.app.shared.EntityVersion(D.id, D.version, MAX(I.updatedAt), COUNT(I)) " +
+            "FROM Draft D LEFT JOIN D.images I WHERE D.draftId = :draftId GROUP BY D.id, D.version")
+    Optional<EntityVersion> findVersion(@Param("draftId") String draftId);
+
     @Query("SELECT D FROM Draft D WHERE D.project.id IN ( " +
             "SELECT DISTINCT p.id FROM Project p " +
             "LEFT JOIN p.collaborators c " +
             "WHERE p.createdBy = :username OR c.username = :username " +
             ")")
     Page<Draft> findAllDrafts(String username, PageRequest pageRequest);
+
+    @Query("SELECT D FROM Draft D WHERE D.project.id IN ( " +
+            "SELECT DISTINCT p.id FROM Project p " +
+            "LEFT JOIN p.collaborators c " +
+            "WHERE p.createdBy = :username OR c.username = :username " +
+            ") AND (D.createdAt < :createdAt OR (D.createdAt = :createdAt AND D.id < :id)) " +
+            "ORDER BY D.createdAt DESC, D.id DESC")
+    List<Draft> scrollDrafts(@Param("username") String username,
+                             @Param("createdAt") Date createdAt,
+                             @Param("id") Long id,
+                             Limit limit);
 }
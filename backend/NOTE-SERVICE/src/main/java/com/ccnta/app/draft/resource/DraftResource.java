@@ -1,14 +1,19 @@
 package com.ccnta.app.draft.resource;
 
+import com.ccnta.app.configuration.response.CachedResponse;
+import com.ccnta.app.configuration.response.ConditionalGet;
 import com.ccnta.app.draft.model.DraftRequest;
 import com.ccnta.app.draft.model.DraftResponse;
 import com.ccnta.app.draft.service.IDraftService;
 import com.ccnta.app.shared.GlobalResponse;
+import com.ccnta.app.shared.IfMatch;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -35,6 +40,8 @@ public class DraftResource {
         );
     }
 
+    @CachedResponse
+    @ConditionalGet
     @GetMapping("/all")
     public ResponseEntity<GlobalResponse<List<DraftResponse>>> getAllDrafts(
             @RequestParam(value = "page", defaultValue = "0", required = false) int page,
@@ -47,6 +54,18 @@ public class DraftResource {
         );
     }
 
+    @ConditionalGet
+    @GetMapping("/scroll")
+    public ResponseEntity<GlobalResponse<List<DraftResponse>>> scrollDrafts(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10", required = false) int size,
+            Authentication authentication
+    ) {
+        return ResponseEntity.ok(
+                draftService.scrollDrafts(authentication.getName(), cursor, size)
+        );
+    }
+
     //update
     @PutMapping("/{draftId}")
     public ResponseEntity<GlobalResponse<Void>> update(
@@ -54,9 +73,32 @@ public class DraftResource {
             @Valid DraftRequest request,
             @RequestParam(value = "projectId") String projectId,
             @RequestParam(value = "images", required = false) Set<MultipartFile> images,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            Authentication authentication) {
+        return ResponseEntity.ok(
+                draftService.update(draftId, projectId, authentication.getName(), request, images, IfMatch.of(ifMatch))
+        );
+    }
+
+    //autosave, acknowledged before it reaches the database
+    @PutMapping("/{draftId}/autosave")
+    public ResponseEntity<GlobalResponse<Void>> autosave(
+            @PathVariable(name = "draftId") String draftId,
+            @Valid DraftRequest request,
+            @RequestParam(value = "projectId") String projectId,
+            Authentication authentication) {
+        return ResponseEntity.accepted().body(
+                draftService.autosave(draftId, projectId, authentication.getName(), request)
+        );
+    }
+
+    @PutMapping("/{draftId}/autosave/flush")
+    public ResponseEntity<GlobalResponse<Void>> flushAutosave(
+            @PathVariable(name = "draftId") String draftId,
+            @RequestParam(value = "projectId") String projectId,
             Authentication authentication) {
         return ResponseEntity.ok(
-                draftService.update(draftId, projectId, authentication.getName(), request, images)
+                draftService.flushAutosave(draftId, projectId, authentication.getName())
         );
     }
 
@@ -69,11 +111,17 @@ public class DraftResource {
         );
     }
 
-    //note details
+    //note details, not in the response cache: autosaves change it without moving the cache generation
     @GetMapping("/{draftId}")
     public ResponseEntity<GlobalResponse<DraftResponse>> draftDetails(
             @PathVariable(name = "draftId") String draftId,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
+        // answers 304 from the version columns, before content and images are loaded
+        String eTag = draftService.draftETag(draftId).orElse(null);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         return ResponseEntity.ok(
                 draftService.draftDetails(draftId, authentication.getName())
         );
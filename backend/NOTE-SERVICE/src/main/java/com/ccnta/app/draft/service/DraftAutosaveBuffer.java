@@ -0,0 +1,154 @@
+package com.ccnta.app.draft.service;
+
+import com.ccnta.app.draft.entity.Draft;
+import com.ccnta.app.draft.model.DraftAutosave;
+import com.ccnta.app.draft.repository.DraftRepository;
+import com.ccnta.app.project.service.ProjectCacheKeys;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Write-behind buffer for draft autosaves, in the {@code draftAutosave} Hazelcast map.
+ * <p>
+ * An autosave replaces the draft's previous one in the map, so a draft typed into for a whole flush
+ * interval costs one write to {@code _draft}. Every node flushes the entries of the partitions it
+ * owns, each entry is written once cluster-wide. An entry is removed only if no newer autosave
+ * replaced it during the write, and a flush holds the entry's lock, so two flushes of a draft never
+ * write out of order.
+ * <p>
+ * Entries have a backup on another node: when a node crashes its entries move to the new partition
+ * owners, which flush them. On shutdown a node flushes its own entries first.
+ * <p>
+ * Exposes {@code draft.autosave.buffered} and {@code draft.autosave.flushed} through Micrometer.
+ */
+@Component
+@Slf4j
+class DraftAutosaveBuffer {
+
+    private static final String MAP = "draftAutosave";
+
+    private final IMap<String, DraftAutosave> autosaves;
+    private final DraftRepository draftRepository;
+    private final ProjectCacheKeys projectCacheKeys;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter flushed;
+
+    DraftAutosaveBuffer(HazelcastInstance hazelcastInstance, DraftRepository draftRepository,
+                        ProjectCacheKeys projectCacheKeys, TransactionTemplate transactionTemplate,
+                        MeterRegistry meterRegistry) {
+        this.autosaves = hazelcastInstance.getMap(MAP);
+        this.draftRepository = draftRepository;
+        this.projectCacheKeys = projectCacheKeys;
+        this.transactionTemplate = transactionTemplate;
+        this.flushed = meterRegistry.counter("draft.autosave.flushed");
+        meterRegistry.gauge("draft.autosave.buffered", autosaves,
+                map -> map.getLocalMapStats().getOwnedEntryCount());
+    }
+
+    DraftAutosave get(String draftId) {
+        return autosaves.get(draftId);
+    }
+
+    void put(DraftAutosave autosave) {
+        autosaves.set(autosave.draftId(), autosave);
+    }
+
+    /**
+     * Drops the draft's autosave, waiting for a flush of it in progress to commit.
+     */
+    void discard(String draftId) {
+        autosaves.delete(draftId);
+    }
+
+    /**
+     * Writes the draft's autosave now, e.g. when its editor is closed.
+     *
+     * @return false when there was nothing to write, or the draft was deleted
+     */
+    boolean flush(String draftId) {
+        autosaves.lock(draftId);
+        try {
+            return write(draftId);
+        } finally {
+            autosaves.unlock(draftId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.draft-autosave.flush-interval-ms:10000}")
+    public void flushLocal() {
+        for (String draftId : autosaves.localKeySet()) {
+            // being flushed on request, it is gone or newer by the next interval
+            if (!autosaves.tryLock(draftId)) {
+                continue;
+            }
+            try {
+                write(draftId);
+            } catch (Exception e) {
+                log.error("Failed to flush autosave of draft {}: {}", draftId, e.getMessage(), e);
+            } finally {
+                autosaves.unlock(draftId);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        for (String draftId : autosaves.localKeySet()) {
+            try {
+                flush(draftId);
+            } catch (Exception e) {
+                // still in the map, the backup's new owner flushes it
+                log.error("Failed to flush autosave of draft {} on shutdown: {}", draftId, e.getMessage(), e);
+            }
+        }
+    }
+
+    private boolean write(String draftId) {
+        DraftAutosave autosave = autosaves.get(draftId);
+        if (autosave == null) {
+            return false;
+        }
+
+        // audited as the user who typed it, not as the scheduler or whoever asked for the flush
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContextHolder.setContext(new SecurityContextImpl(
+                UsernamePasswordAuthenticationToken.authenticated(autosave.username(), null, List.of())));
+        boolean written;
+        try {
+            written = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                Draft draft = draftRepository.findByDraftId(draftId).orElse(null);
+                if (draft == null) {
+                    log.warn("Draft {} was deleted before its autosave was written, dropping it", draftId);
+                    return false;
+                }
+                draft.setTitle(autosave.title());
+                draft.setContent(autosave.content());
+                draftRepository.save(draft);
+                projectCacheKeys.touch(draft.getProject());
+                return true;
+            }));
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
+
+        autosaves.remove(draftId, autosave);
+        if (written) {
+            flushed.increment();
+        }
+        return written;
+    }
+
+}
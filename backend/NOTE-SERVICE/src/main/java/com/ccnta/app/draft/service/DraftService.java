@@ -1,8 +1,9 @@
 package com.ccnta.app.draft.service;
 
-import com.ccnta.app.client.AuthorizationServerClient;
+import com.ccnta.app.client.UserDirectory;
 import com.ccnta.app.collaborator.model.CollaboratorResponse;
 import com.ccnta.app.draft.entity.Draft;
+import com.ccnta.app.draft.model.DraftAutosave;
 import com.ccnta.app.draft.model.DraftRequest;
 import com.ccnta.app.draft.model.DraftResponse;
 import com.ccnta.app.draft.repository.DraftRepository;
@@ -12,16 +13,21 @@ import com.ccnta.app.media.model.ImageResponse;
 import com.ccnta.app.media.repository.ImageRepository;
 import com.ccnta.app.project.entity.Project;
 import com.ccnta.app.project.repository.ProjectRepository;
+import com.ccnta.app.project.service.ProjectCacheKeys;
+import com.ccnta.app.shared.AbstractEntity;
+import com.ccnta.app.shared.Cursor;
+import com.ccnta.app.shared.CursorPaging;
 import com.ccnta.app.shared.GlobalResponse;
+import com.ccnta.app.shared.IfMatch;
 import com.ccnta.app.shared.Paging;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -50,7 +56,9 @@ public class DraftService implements IDraftService {
     private final DraftRepository draftRepository;
     private final ImageRepository imageRepository;
     private final ProjectRepository projectRepository;
-    private final AuthorizationServerClient authorizationClient;
+    private final UserDirectory userDirectory;
+    private final ProjectCacheKeys projectCacheKeys;
+    private final DraftAutosaveBuffer autosaveBuffer;
 
 
     @Transactional
@@ -63,6 +71,7 @@ public class DraftService implements IDraftService {
         try {
             Draft draft = createAndSaveDraft(request, project, username);
             processImages(images, draft);
+            projectCacheKeys.touch(project);
             return GlobalResponse.success("Draft created successfully");
         } catch (Exception e) {
             log.error("Failed to create draft: {}", e.getMessage(), e);
@@ -72,15 +81,20 @@ public class DraftService implements IDraftService {
 
     @Transactional
     @Override
-    public GlobalResponse<Void> update(String draftId, String projectId, String username, DraftRequest request, Set<MultipartFile> images) {
+    public GlobalResponse<Void> update(String draftId, String projectId, String username, DraftRequest request,
+                                       Set<MultipartFile> images, IfMatch ifMatch) {
         validateRequest(projectId, request, username);
 
-        Draft draft = draftRepository.findByDraftId(draftId)
+        Draft draft = draftRepository.findForUpdate(draftId)
                 .orElseThrow(() -> new ProjectException(String.format(DRAFT_NOT_FOUND, draftId)));
+        IfMatch.check("Draft", draftId, ifMatch, draft, () -> draftETag(draftId).orElse(null));
+        // the full update supersedes anything autosaved before it
+        autosaveBuffer.discard(draftId);
 
         try {
             updateDraftFields(draft, request, images, username);
             draftRepository.save(draft);
+            projectCacheKeys.touch(draft.getProject());
             return GlobalResponse.success("Draft updated successfully");
         } catch (Exception e) {
             log.error("Failed to update draft: {}", e.getMessage(), e);
@@ -92,7 +106,57 @@ public class DraftService implements IDraftService {
     public GlobalResponse<DraftResponse> draftDetails(String draftId, String username) {
        Draft draft = draftRepository.findByDraftId(draftId)
                 .orElseThrow(() -> new ProjectException(String.format(DRAFT_NOT_FOUND, draftId)));
-        return GlobalResponse.success(draftResponse(draft));
+        prefetchUsers(List.of(draft));
+        DraftResponse response = draftResponse(draft);
+
+        // read-your-writes: what was autosaved but not flushed yet
+        DraftAutosave autosave = autosaveBuffer.get(draftId);
+        if (autosave != null) {
+            response.setTitle(autosave.title());
+            response.setContent(autosave.content());
+            response.setUpdatedAt(new Date(autosave.savedAt()).toString());
+            response.setUpdatedBy(findUserByUsernameAndMap(autosave.username()));
+        }
+        return GlobalResponse.success(response);
+    }
+
+    @Override
+    public Optional<String> draftETag(String draftId) {
+        return draftRepository.findVersion(draftId).map(version -> {
+            DraftAutosave autosave = autosaveBuffer.get(draftId);
+            return autosave != null ? version.eTag() + "-" + autosave.savedAt() : version.eTag();
+        });
+    }
+
+    @Override
+    public GlobalResponse<Void> autosave(String draftId, String projectId, String username, DraftRequest request) {
+        validateRequest(projectId, request, username);
+
+        // the draft is looked up once per buffered autosave, not on every keystroke batch
+        DraftAutosave previous = autosaveBuffer.get(draftId);
+        if (previous == null || !previous.projectId().equals(projectId)) {
+            draftRepository.findByDraftId(draftId)
+                    .filter(found -> found.getProject().getProjectId().equals(projectId))
+                    .orElseThrow(() -> new ProjectException(String.format(DRAFT_NOT_FOUND, draftId)));
+        }
+
+        // cached views change once it is flushed; until then only draftDetails shows it, and it is not cached
+        autosaveBuffer.put(new DraftAutosave(draftId, projectId, request.getTitle(), request.getContent(),
+                username, System.currentTimeMillis()));
+        return GlobalResponse.success("Draft autosaved");
+    }
+
+    @Override
+    public GlobalResponse<Void> flushAutosave(String draftId, String projectId, String username) {
+        DraftAutosave autosave = autosaveBuffer.get(draftId);
+        if (autosave == null || !autosave.projectId().equals(projectId)) {
+            return GlobalResponse.success("Draft has no unsaved changes");
+        }
+        if (!autosaveBuffer.flush(draftId)) {
+            // written by the scheduled flush in the meantime, or the draft is gone
+            return GlobalResponse.success("Draft has no unsaved changes");
+        }
+        return GlobalResponse.success("Draft saved successfully");
     }
 
     @Transactional
@@ -102,6 +166,8 @@ public class DraftService implements IDraftService {
                 .orElseThrow(() -> new ProjectException(String.format(DRAFT_NOT_FOUND, draftId)));
 
         try {
+            autosaveBuffer.discard(draftId);
+            projectCacheKeys.touch(draft.getProject());
             deleteDraftAndAssociatedImages(draft);
             return GlobalResponse.success("Draft deleted successfully");
         } catch (Exception e) {
@@ -121,13 +187,25 @@ public class DraftService implements IDraftService {
         );
     }
 
+    @Override
+    public GlobalResponse<List<DraftResponse>> scrollDrafts(String username, String cursor, int requested) {
+        int size = CursorPaging.size(requested, MAX_PAGE_SIZE);
+        Cursor after = Cursor.decode(cursor);
+        List<Draft> rows = draftRepository.scrollDrafts(username, after.createdAt(), after.id(), Limit.of(size + 1));
+
+        return GlobalResponse.success(
+                draftResponseList(CursorPaging.trim(rows, size)),
+                CursorPaging.of(rows, size, Draft::getId)
+        );
+    }
+
     // Helper methods for image handling
     private void processImages(Set<MultipartFile> images, Draft draft) {
         if (images == null || images.isEmpty()) {
             return;
         }
 
-        images.stream()
+        List<Image> uploaded = images.stream()
                 .map(this::uploadImage)
                 .filter(Objects::nonNull)
                 .peek(image -> {
@@ -135,7 +213,10 @@ public class DraftService implements IDraftService {
                     image.setEnabled(true);
                     image.setImageId(UUID.randomUUID().toString());
                 })
-                .forEach(imageRepository::save);
+                .toList();
+
+        // one batched insert instead of a round trip per image
+        imageRepository.saveAll(uploaded);
     }
 
     private Image uploadImage(MultipartFile file) {
@@ -260,6 +341,7 @@ public class DraftService implements IDraftService {
     }
 
     private List<DraftResponse> draftResponseList(List<Draft> drafts) {
+        prefetchUsers(drafts);
         return drafts.stream()
                 .map(this::draftResponse)
                 .toList();
@@ -270,6 +352,7 @@ public class DraftService implements IDraftService {
                 .draftId(draft.getDraftId())
                 .title(draft.getTitle())
                 .content(draft.getContent())
+                .version(draft.getVersion())
                 .createdAt(draft.getCreatedAt().toString())
                 .updatedAt(draft.getUpdatedAt().toString())
                 .createdBy(findUserByUsernameAndMap(draft.getCreatedBy()))
@@ -302,19 +385,13 @@ public class DraftService implements IDraftService {
     }
 
     private CollaboratorResponse findUserByUsernameAndMap(String username) {
-        try {
-            return Optional.ofNullable(authorizationClient.userByUsername(username))
-                    .map(GlobalResponse::getData)
-                    .map(response -> CollaboratorResponse.builder()
-                            .name(response.getFirstName() + " " + response.getLastName())
-                            .username(response.getUsername())
-                            .profile(response.getProfile())
-                            .email(response.getEmail())
-                            .build())
-                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
-        } catch (Exception e) {
-            throw new ProjectException("Failed to fetch user details for: " + username, e);
-        }
+        return userDirectory.get(username);
+    }
+
+    private void prefetchUsers(List<Draft> drafts) {
+        List<AbstractEntity> entities = new ArrayList<>(drafts);
+        drafts.forEach(draft -> entities.addAll(draft.getImages()));
+        userDirectory.prefetch(UserDirectory.auditors(entities.stream()));
     }
 
     private void updateDraftFields(Draft draft, DraftRequest request, Set<MultipartFile> files, String username) {
@@ -3,20 +3,40 @@ package com.ccnta.app.draft.service;
 import com.ccnta.app.draft.model.DraftRequest;
 import com.ccnta.app.draft.model.DraftResponse;
 import com.ccnta.app.shared.GlobalResponse;
+import com.ccnta.app.shared.IfMatch;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public interface IDraftService {
 
     GlobalResponse<Void> create(String username, String projectId, DraftRequest request, Set<MultipartFile> images);
 
-    GlobalResponse<Void> update(String draftId, String projectId, String username, DraftRequest request, Set<MultipartFile> images);
+    GlobalResponse<Void> update(String draftId, String projectId, String username, DraftRequest request, Set<MultipartFile> images, IfMatch ifMatch);
     GlobalResponse<DraftResponse> draftDetails(String draftId, String username);
 
+    /**
+     * Strong ETag of the draft's details, from its version columns; empty when the draft does not exist.
+     */
+    Optional<String> draftETag(String draftId);
+
+    /**
+     * Buffers the draft's title and content, written to the draft within the flush interval.
+     * {@link #draftDetails} returns them right away.
+     */
+    GlobalResponse<Void> autosave(String draftId, String projectId, String username, DraftRequest request);
+
+    /**
+     * Writes the draft's buffered autosave now, e.g. when its editor is closed.
+     */
+    GlobalResponse<Void> flushAutosave(String draftId, String projectId, String username);
+
     GlobalResponse<Void> delete(String draftId, String username);
 
     GlobalResponse<List<DraftResponse>> getAllDrafts(String username, int pageNumber, int limit);
 
+    GlobalResponse<List<DraftResponse>> scrollDrafts(String username, String cursor, int size);
+
 }
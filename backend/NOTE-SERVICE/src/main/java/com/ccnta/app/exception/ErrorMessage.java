@@ -21,5 +21,6 @@ public class ErrorMessage {
     private String uri;
     private String timestamp;
     private Map<String, String> errors;
+    private Long version;
 
 }
\ No newline at end of file
@@ -1,9 +1,15 @@
 package com.ccnta.app.exception;
 
 
+import com.ccnta.app.shared.Versioned;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.LockedException;
@@ -19,8 +25,12 @@ import java.util.Map;
 import static org.springframework.http.HttpStatus.*;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
+@Slf4j
 public class GlobalExceptionHandler {
 
+    private final EntityManagerFactory entityManagerFactory;
+
     @ExceptionHandler(LockedException.class)
     public ResponseEntity<ErrorMessage> handleException(LockedException exp) {
         return ResponseEntity
@@ -83,6 +93,37 @@ public class GlobalExceptionHandler {
                 );
     }
 
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ErrorMessage> handleVersionConflict(VersionConflictException exp, HttpServletRequest request) {
+        return conflict(exp.getMessage(), exp.getCurrentVersion(), request);
+    }
+
+    /**
+     * Another write committed between loading the entity and flushing this one.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorMessage> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException exp, HttpServletRequest request) {
+        return conflict("The resource was modified concurrently, reload it and retry", currentVersion(exp), request);
+    }
+
+    @ExceptionHandler(ProjectException.class)
+    public ResponseEntity<ErrorMessage> handleProjectException(ProjectException exp, HttpServletRequest request) {
+        if (exp.getStatus().is5xxServerError()) {
+            log.error("Request to {} failed", request.getRequestURI(), exp);
+        }
+        return ResponseEntity
+                .status(exp.getStatus())
+                .body(
+                        ErrorMessage.builder()
+                                .message(exp.getLocalizedMessage())
+                                .code(String.valueOf(exp.getStatus().value()))
+                                .timestamp(LocalDateTime.now().toString())
+                                .status(exp.getStatus())
+                                .uri(request.getRequestURI())
+                                .build()
+                );
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorMessage> handleException(Exception exp, HttpServletRequest request) {
         exp.printStackTrace();
@@ -99,4 +140,32 @@ public class GlobalExceptionHandler {
                 );
     }
 
-}
\ No newline at end of file
+    private static ResponseEntity<ErrorMessage> conflict(String message, Long version, HttpServletRequest request) {
+        return ResponseEntity.status(CONFLICT).body(
+                ErrorMessage.builder()
+                        .code("409")
+                        .message(message)
+                        .status(CONFLICT)
+                        .version(version)
+                        .timestamp(LocalDateTime.now().toString())
+                        .uri(request.getRequestURI())
+                        .build()
+        );
+    }
+
+    private Long currentVersion(ObjectOptimisticLockingFailureException exp) {
+        if (exp.getPersistentClass() == null || exp.getIdentifier() == null) {
+            return null;
+        }
+        // the failed transaction's persistence context is unusable, so read through a fresh one
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.find(exp.getPersistentClass(), exp.getIdentifier()) instanceof Versioned versioned
+                    ? versioned.getVersion()
+                    : null;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.ccnta.app.exception;
+
+import lombok.Getter;
+
+/**
+ * A write was based on an outdated version of a note, draft or project. Answered with 409 and
+ * the current version, so the client can re-read and retry.
+ */
+@Getter
+public class VersionConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long currentVersion;
+
+    /**
+     * @param expected the version or ETag the client based its write on
+     */
+    public VersionConflictException(String resource, String id, String expected, Long currentVersion) {
+        super(String.format("%s %s was modified: expected %s, current version %s",
+                resource, id, expected, currentVersion));
+        this.currentVersion = currentVersion;
+    }
+
+}
@@ -18,7 +18,7 @@ public class Image extends AbstractEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "_image_id_seq_generator")
-    @SequenceGenerator(name = "_image_id_seq_generator", sequenceName = "_image_id_seq", allocationSize = 1, initialValue = 1)
+    @SequenceGenerator(name = "_image_id_seq_generator", sequenceName = "_image_id_seq", allocationSize = 50, initialValue = 1)
     @Column(name = "id", nullable = false, updatable = false, unique = true)
     private Long id;
 
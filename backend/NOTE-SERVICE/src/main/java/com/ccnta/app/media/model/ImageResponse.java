@@ -4,13 +4,15 @@ import com.ccnta.app.collaborator.model.CollaboratorResponse;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
+import java.io.Serializable;
+
 @Builder
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class ImageResponse {
+public class ImageResponse implements Serializable {
 
     private String imageId;
     private String name;
@@ -4,9 +4,11 @@ import com.ccnta.app.comment.entity.Comment;
 import com.ccnta.app.media.entity.Image;
 import com.ccnta.app.project.entity.Project;
 import com.ccnta.app.shared.AbstractEntity;
+import com.ccnta.app.shared.Versioned;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.HashSet;
@@ -18,13 +20,13 @@ import java.util.Set;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "_notes")
+@Table(name = "_notes", indexes = @Index(name = "idx_notes_created_at_id", columnList = "created_at, id"))
 @DynamicUpdate
-public class Note extends AbstractEntity {
+public class Note extends AbstractEntity implements Versioned {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "_note_id_seq_generator")
-    @SequenceGenerator(name = "_note_id_seq_generator", sequenceName = "_note_id_seq", allocationSize = 1, initialValue = 1)
+    @SequenceGenerator(name = "_note_id_seq_generator", sequenceName = "_note_id_seq", allocationSize = 50, initialValue = 1)
     @Column(name = "id", nullable = false, updatable = false, unique = true)
     private Long id;
 
@@ -34,6 +36,11 @@ public class Note extends AbstractEntity {
     private String title;
     private String content;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "note", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Image> images = new HashSet<>();
 
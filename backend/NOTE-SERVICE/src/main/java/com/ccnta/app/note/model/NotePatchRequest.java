@@ -0,0 +1,39 @@
+package com.ccnta.app.note.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Partial update of a note: content edits and image removals applied to {@code baseVersion}.
+ * New images are sent as multipart files next to it. Fields left null are not changed.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotePatchRequest {
+
+    @NotNull(message = "Base version must not be null.")
+    private Long baseVersion;
+
+    @Size(max = 100, message = "Title must not exceed 100 characters.")
+    @Pattern(regexp = ".*\\S.*", message = "Title must not be blank.")
+    private String title;
+
+    @Valid
+    private List<TextEdit> edits;
+
+    private Set<String> removeImages;
+
+}
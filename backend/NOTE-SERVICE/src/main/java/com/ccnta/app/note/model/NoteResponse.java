@@ -4,10 +4,13 @@ import com.ccnta.app.collaborator.model.CollaboratorResponse;
 import com.ccnta.app.media.entity.Image;
 import com.ccnta.app.media.model.ImageResponse;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
@@ -15,12 +18,15 @@ import java.util.Set;
 @Getter
 @Setter
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class NoteResponse {
+public class NoteResponse implements Serializable {
 
     private String noteId;
     private String title;
     private String content;
+    private Long version;
     private Set<ImageResponse> images;
     private CollaboratorResponse createdBy;
     private CollaboratorResponse updatedBy;
@@ -0,0 +1,43 @@
+package com.ccnta.app.note.model;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One change to a note's content. Offsets count UTF-16 code units, like JavaScript string indexes,
+ * and refer to the content as left by the previous edit of the same patch.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TextEdit {
+
+    @NotNull(message = "Edit type must not be null.")
+    private Type type;
+
+    @Min(value = 0, message = "Offset must not be negative.")
+    private int offset;
+
+    /**
+     * Inserted text, for {@link Type#INSERT}.
+     */
+    private String text;
+
+    /**
+     * Number of removed characters, for {@link Type#DELETE}.
+     */
+    @Min(value = 0, message = "Length must not be negative.")
+    private int length;
+
+    public enum Type {
+        INSERT, DELETE
+    }
+
+}
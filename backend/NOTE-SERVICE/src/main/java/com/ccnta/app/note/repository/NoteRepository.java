@@ -1,13 +1,18 @@
 package com.ccnta.app.note.repository;
 
 import com.ccnta.app.note.entity.Note;
+import com.ccnta.app.shared.EntityVersion;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,9 +29,44 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
             ")")
     Page<Note> findAllNotes(String username, PageRequest pageRequest);
 
+    @Query("SELECT n FROM Note n WHERE n.project.id IN ( " +
+            "SELECT DISTINCT p.id FROM Project p " +
+            "LEFT JOIN p.collaborators c " +
+            "WHERE p.createdBy = :username OR c.username = :username " +
+            ") AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Note> scrollNotes(@Param("username") String username,
+                           @Param("createdAt") Date createdAt,
+                           @Param("id") Long id,
+                           Limit limit);
+
     @Query("SELECT n FROM Note n WHERE n.noteId = :noteId")
     Optional<Note> findByNoteId(String noteId);
 
+    @Query("SELECT n.project.projectId FROM Note n WHERE n.noteId = :noteId")
+    Optional<String> findProjectId(@Param("noteId") String noteId);
+
+    /**
+     * Loads the note for a write; its version is incremented on commit even when only its images changed.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT n FROM Note n WHERE n.noteId = :noteId")
+    Optional<Note> findForUpdate(@Param("noteId") String noteId);
+
+    /**
+     * Loads the note for a patch; the row lock keeps concurrent patches from applying offsets to the same base.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM Note n WHERE n.noteId = :noteId")
+    Optional<Note> findForPatch(@Param("noteId") String noteId);
+
+    @Query("SELECT n.version FROM Note n WHERE n.noteId = :noteId")
+    Optional<Long> findRowVersion(@Param("noteId") String noteId);
+
+    @Query("SELECT new com.ccnta.app.shared.EntityVersion(n.id, n.version, MAX(i.updatedAt), COUNT(i)) " +
+            "FROM Note n LEFT JOIN n.images i WHERE n.noteId = :noteId GROUP BY n.id, n.version")
+    Optional<EntityVersion> findVersion(@Param("noteId") String noteId);
+
     @Query("SELECT n FROM Note n WHERE n.project.projectId = :projectId AND " +
             "(n.project.createdBy = :username OR " +
             "EXISTS (SELECT c FROM n.project.collaborators c WHERE c.username = :username))")
@@ -1,14 +1,21 @@
 package com.ccnta.app.note.resource;
 
+import com.ccnta.app.configuration.response.CachedResponse;
+import com.ccnta.app.configuration.response.ConditionalGet;
+import com.ccnta.app.note.model.NotePatchRequest;
 import com.ccnta.app.note.model.NoteRequest;
 import com.ccnta.app.note.model.NoteResponse;
 import com.ccnta.app.note.service.INoteService;
 import com.ccnta.app.shared.GlobalResponse;
+import com.ccnta.app.shared.IfMatch;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -33,6 +40,8 @@ public class NoteResource {
         );
     }
 
+    @CachedResponse
+    @ConditionalGet
     @GetMapping("/all")
     public ResponseEntity<GlobalResponse<List<NoteResponse>>> getAllNotes(
             @RequestParam(value = "page", defaultValue = "0", required = false) int page,
@@ -45,6 +54,20 @@ public class NoteResource {
         );
     }
 
+    @ConditionalGet
+    @GetMapping("/scroll")
+    public ResponseEntity<GlobalResponse<List<NoteResponse>>> scrollNotes(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10", required = false) int size,
+            Authentication authentication
+    ) {
+        return ResponseEntity.ok(
+                noteService.scrollNotes(authentication.getName(), cursor, size)
+        );
+    }
+
+    @CachedResponse
+    @ConditionalGet
     @GetMapping("/by.projectId/{projectId}")
     public ResponseEntity<GlobalResponse<List<NoteResponse>>> getAllNotesByProjectId(
             @PathVariable(name = "projectId") String projectId,
@@ -64,9 +87,34 @@ public class NoteResource {
             @Valid NoteRequest request,
             @RequestParam(value = "images", required = false) Set<MultipartFile> images,
             @RequestParam(value="projectId", required = true) String projectId,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            Authentication authentication) {
+        return ResponseEntity.ok(
+                noteService.updateNote(noteId, projectId, authentication.getName(), request, images, IfMatch.of(ifMatch))
+        );
+    }
+
+    //patch note content and images against a base version
+    @PatchMapping(value = "/{noteId}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<GlobalResponse<Long>> patchNote(
+            @PathVariable(name = "noteId") String noteId,
+            @RequestBody @Valid NotePatchRequest patch,
+            @RequestParam(value = "projectId", required = true) String projectId,
+            Authentication authentication) {
+        return ResponseEntity.ok(
+                noteService.patchNote(noteId, projectId, authentication.getName(), patch, null)
+        );
+    }
+
+    @PatchMapping(value = "/{noteId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<GlobalResponse<Long>> patchNoteWithImages(
+            @PathVariable(name = "noteId") String noteId,
+            @RequestPart("patch") @Valid NotePatchRequest patch,
+            @RequestPart(value = "images", required = false) Set<MultipartFile> images,
+            @RequestParam(value = "projectId", required = true) String projectId,
             Authentication authentication) {
         return ResponseEntity.ok(
-                noteService.updateNote(noteId, projectId, authentication.getName(), request, images)
+                noteService.patchNote(noteId, projectId, authentication.getName(), patch, images)
         );
     }
 
@@ -81,10 +129,17 @@ public class NoteResource {
     }
 
     //note details
+    @CachedResponse
     @GetMapping("/{noteId}")
     public ResponseEntity<GlobalResponse<NoteResponse>> noteDetails(
             @PathVariable(name = "noteId") String noteId,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
+        // answers 304 from the version columns, before content and images are loaded
+        String eTag = noteService.noteETag(noteId).orElse(null);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         return ResponseEntity.ok(
                 noteService.noteDetails(noteId, authentication.getName())
         );
@@ -1,20 +1,35 @@
 package com.ccnta.app.note.service;
 
+import com.ccnta.app.note.model.NotePatchRequest;
 import com.ccnta.app.note.model.NoteRequest;
 import com.ccnta.app.note.model.NoteResponse;
 import com.ccnta.app.shared.GlobalResponse;
+import com.ccnta.app.shared.IfMatch;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public interface INoteService {
 
     GlobalResponse<Void> createNote(String username, String projectId, NoteRequest request, Set<MultipartFile> images);
 
-    GlobalResponse<Void> updateNote(String noteId, String projectId, String username, NoteRequest request, Set<MultipartFile> images);
+    GlobalResponse<Void> updateNote(String noteId, String projectId, String username, NoteRequest request, Set<MultipartFile> images, IfMatch ifMatch);
+    /**
+     * Applies content edits, a title change and image additions/removals to the note's base version.
+     *
+     * @return the note's new version
+     */
+    GlobalResponse<Long> patchNote(String noteId, String projectId, String username, NotePatchRequest patch, Set<MultipartFile> images);
+
     GlobalResponse<NoteResponse> noteDetails(String noteId, String username);
 
+    /**
+     * Strong ETag of the note's details, from its version columns; empty when the note does not exist.
+     */
+    Optional<String> noteETag(String noteId);
+
     GlobalResponse<Void> deleteNote(String noteId, String username);
 
 //    void archiveNote(String noteId, String username);
@@ -23,5 +38,7 @@ public interface INoteService {
 
     GlobalResponse<List<NoteResponse>> getAllNotes(String username, int pageNumber, int limit);
 
+    GlobalResponse<List<NoteResponse>> scrollNotes(String username, String cursor, int size);
+
     GlobalResponse<List<NoteResponse>> getNotesByProjectId(String projectId, String name, int page, int size);
 }
@@ -1,6 +1,6 @@
 package com.ccnta.app.note.service;
 
-import com.ccnta.app.client.AuthorizationServerClient;
+import com.ccnta.app.client.UserDirectory;
 import com.ccnta.app.collaborator.model.CollaboratorResponse;
 import com.ccnta.app.collaborator.repository.CollaboratorRepository;
 import com.ccnta.app.exception.ProjectException;
@@ -8,23 +8,34 @@ import com.ccnta.app.media.entity.Image;
 import com.ccnta.app.media.model.ImageResponse;
 import com.ccnta.app.media.repository.ImageRepository;
 import com.ccnta.app.note.entity.Note;
+import com.ccnta.app.note.model.NotePatchRequest;
 import com.ccnta.app.note.model.NoteRequest;
 import com.ccnta.app.note.model.NoteResponse;
+import com.ccnta.app.note.model.TextEdit;
 import com.ccnta.app.note.repository.NoteRepository;
 import com.ccnta.app.project.entity.Project;
 import com.ccnta.app.project.repository.ProjectRepository;
+import com.ccnta.app.project.service.ProjectCacheKeys;
+import com.ccnta.app.shared.AbstractEntity;
+import com.ccnta.app.shared.Cursor;
+import com.ccnta.app.shared.CursorPaging;
+import com.ccnta.app.shared.EntityVersion;
 import com.ccnta.app.shared.GlobalResponse;
+import com.ccnta.app.shared.IfMatch;
 import com.ccnta.app.shared.Paging;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
@@ -47,6 +58,8 @@ public class NoteService implements INoteService {
     private static final String DEFAULT_SORT_FIELD = "createdAt";
     private static final String IMAGE_UPLOAD_ERROR = "Failed to save image: {}";
     private static final String NOTE_NOT_FOUND = "Note not found with id: %s";
+    private static final String INVALID_EDIT = "Edit %d is out of range for content of length %d";
+    private static final int MAX_CONTENT_LENGTH = 50000;
     private static final String PROJECT_NOT_FOUND = "No project exists with ID %s for user %s";
     private static final String UNAUTHORIZED_USER = "User is neither a collaborator nor an owner";
     private static final String INSUFFICIENT_PERMISSIONS = "User does not have permission to perform this operation";
@@ -55,7 +68,8 @@ public class NoteService implements INoteService {
     private final ImageRepository imageRepository;
     private final ProjectRepository projectRepository;
     private final CollaboratorRepository collaboratorRepository;
-    private final AuthorizationServerClient authorizationClient;
+    private final UserDirectory userDirectory;
+    private final ProjectCacheKeys projectCacheKeys;
 
     @Transactional
     @Override
@@ -68,6 +82,7 @@ public class NoteService implements INoteService {
         try {
             Note note = createAndSaveNote(request, project, username);
             processImages(images, note);
+            projectCacheKeys.touch(project);
             return GlobalResponse.success("Note created successfully");
         } catch (Exception e) {
             log.error("Failed to create note: {}", e.getMessage(), e);
@@ -77,14 +92,17 @@ public class NoteService implements INoteService {
 
     @Override
     @Transactional
-    public GlobalResponse<Void> updateNote(String noteId, String projectId, String username, NoteRequest request, Set<MultipartFile> images) {
+    public GlobalResponse<Void> updateNote(String noteId, String projectId, String username, NoteRequest request,
+                                           Set<MultipartFile> images, IfMatch ifMatch) {
         validateRequest(request, projectId, username);
-        Note note = noteRepository.findByNoteId(noteId)
+        Note note = noteRepository.findForUpdate(noteId)
                 .orElseThrow(() -> new ProjectException(String.format(NOTE_NOT_FOUND, noteId)));
+        IfMatch.check("Note", noteId, ifMatch, note, () -> noteETag(noteId).orElse(null));
 
         try {
             updateNoteFields(note, request, images, username);
             noteRepository.save(note);
+            projectCacheKeys.touch(note.getProject());
             return GlobalResponse.success("Note updated successfully");
         } catch (Exception e) {
             log.error("Failed to update note: {}", e.getMessage(), e);
@@ -92,20 +110,54 @@ public class NoteService implements INoteService {
         }
     }
 
+    @Override
+    @Transactional
+    public GlobalResponse<Long> patchNote(String noteId, String projectId, String username, NotePatchRequest patch,
+                                          Set<MultipartFile> images) {
+        Note note = noteRepository.findForPatch(noteId)
+                .filter(found -> found.getProject().getProjectId().equals(projectId))
+                .orElseThrow(() -> new ProjectException(String.format(NOTE_NOT_FOUND, noteId), HttpStatus.NOT_FOUND));
+        IfMatch.check("Note", noteId, patch.getBaseVersion(), note);
+
+        if (patch.getTitle() != null) {
+            note.setTitle(patch.getTitle());
+        }
+        if (patch.getEdits() != null && !patch.getEdits().isEmpty()) {
+            note.setContent(applyEdits(note.getContent(), patch.getEdits()));
+        }
+        List<String> removedPaths = removeImages(note, patch.getRemoveImages());
+        processImages(images, note);
+
+        // image-only patches leave the note row clean; touching it still moves the version
+        note.setUpdatedBy(username);
+        note.setUpdatedAt(new Date());
+        noteRepository.saveAndFlush(note);
+        deleteImageFilesAfterCommit(removedPaths);
+        projectCacheKeys.touch(note.getProject());
+        return GlobalResponse.success("Note patched successfully", note.getVersion());
+    }
+
     @Override
     public GlobalResponse<NoteResponse> noteDetails(String noteId, String username) {
         Note note = noteRepository.findByNoteId(noteId)
                 .orElseThrow(() -> new ProjectException(String.format(NOTE_NOT_FOUND, noteId)));
 
+        prefetchUsers(List.of(note));
         return GlobalResponse.success(noteResponse(note));
     }
 
+    @Override
+    public Optional<String> noteETag(String noteId) {
+        return noteRepository.findVersion(noteId).map(EntityVersion::eTag);
+    }
+
     @Override
     @Transactional
     public GlobalResponse<Void> deleteNote(String noteId, String username) {
         Note note = noteRepository.findByNoteId(noteId)
                 .orElseThrow(() -> new ProjectException(String.format(NOTE_NOT_FOUND, noteId)));
         try {
+            projectCacheKeys.touch(note.getProject());
             deleteNoteAndAssociatedImages(note);
             return GlobalResponse.success("Note deleted successfully");
         } catch (Exception e) {
@@ -125,6 +177,18 @@ public class NoteService implements INoteService {
         );
     }
 
+    @Override
+    public GlobalResponse<List<NoteResponse>> scrollNotes(String username, String cursor, int requested) {
+        int size = CursorPaging.size(requested, MAX_PAGE_SIZE);
+        Cursor after = Cursor.decode(cursor);
+        List<Note> rows = noteRepository.scrollNotes(username, after.createdAt(), after.id(), Limit.of(size + 1));
+
+        return GlobalResponse.success(
+                noteResponseList(CursorPaging.trim(rows, size)),
+                CursorPaging.of(rows, size, Note::getId)
+        );
+    }
+
     @Override
     public GlobalResponse<List<NoteResponse>> getNotesByProjectId(String projectId, String username, int number, int limit) {
         PageRequest pageRequest = createPageRequest(number, limit);
@@ -142,7 +206,7 @@ public class NoteService implements INoteService {
             return;
         }
 
-        images.stream()
+        List<Image> uploaded = images.stream()
                 .map(this::uploadImage)
                 .filter(Objects::nonNull)
                 .peek(image -> {
@@ -150,7 +214,10 @@ public class NoteService implements INoteService {
                     image.setEnabled(true);
                     image.setImageId(UUID.randomUUID().toString());
                 })
-                .forEach(imageRepository::save);
+                .toList();
+
+        // one batched insert instead of a round trip per image
+        imageRepository.saveAll(uploaded);
     }
 
     private Image uploadImage(MultipartFile file) {
@@ -246,6 +313,25 @@ public class NoteService implements INoteService {
         });
     }
 
+    /**
+     * Deletes the files once their rows are gone for good: a rolled back patch keeps its images.
+     */
+    private void deleteImageFilesAfterCommit(List<String> imagePaths) {
+        if (imagePaths.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteImageFiles(imagePaths);
+                }
+            });
+        } else {
+            deleteImageFiles(imagePaths);
+        }
+    }
+
     // Response building methods
     private PageRequest createPageRequest(int number, int size) {
         return PageRequest.of(
@@ -267,6 +353,7 @@ public class NoteService implements INoteService {
     }
 
     private List<NoteResponse> noteResponseList(List<Note> notes) {
+        prefetchUsers(notes);
         return notes.stream()
                 .map(this::noteResponse)
                 .toList();
@@ -277,6 +364,7 @@ public class NoteService implements INoteService {
                 .noteId(note.getNoteId())
                 .title(note.getTitle())
                 .content(note.getContent())
+                .version(note.getVersion())
                 .createdAt(note.getCreatedAt().toString())
                 .updatedAt(note.getUpdatedAt().toString())
                 .createdBy(findUserByUsernameAndMap(note.getCreatedBy()))
@@ -309,19 +397,13 @@ public class NoteService implements INoteService {
     }
 
     private CollaboratorResponse findUserByUsernameAndMap(String username) {
-        try {
-            return Optional.ofNullable(authorizationClient.userByUsername(username))
-                    .map(GlobalResponse::getData)
-                    .map(response -> CollaboratorResponse.builder()
-                            .name(response.getFirstName() + " " + response.getLastName())
-                            .username(response.getUsername())
-                            .profile(response.getProfile())
-                            .email(response.getEmail())
-                            .build())
-                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
-        } catch (Exception e) {
-            throw new ProjectException("Failed to fetch user details for: " + username, e);
-        }
+        return userDirectory.get(username);
+    }
+
+    private void prefetchUsers(List<Note> notes) {
+        List<AbstractEntity> entities = new ArrayList<>(notes);
+        notes.forEach(note -> entities.addAll(note.getImages()));
+        userDirectory.prefetch(UserDirectory.auditors(entities.stream()));
     }
 
     private void updateNoteFields(Note note, NoteRequest request, Set<MultipartFile> files, String username) {
@@ -353,6 +435,45 @@ public class NoteService implements INoteService {
         deleteImageFiles(oldImagePaths);
     }
 
+    /**
+     * Applies the edits in order; each offset refers to the content left by the previous edit.
+     */
+    private String applyEdits(String content, List<TextEdit> edits) {
+        StringBuilder text = new StringBuilder(content != null ? content : "");
+        for (int i = 0; i < edits.size(); i++) {
+            TextEdit edit = edits.get(i);
+            int offset = edit.getOffset();
+            int end = edit.getType() == TextEdit.Type.DELETE ? offset + edit.getLength() : offset;
+            if (offset < 0 || end < offset || end > text.length()) {
+                throw new ProjectException(String.format(INVALID_EDIT, i, text.length()), HttpStatus.BAD_REQUEST);
+            }
+            if (edit.getType() == TextEdit.Type.INSERT) {
+                text.insert(offset, edit.getText() != null ? edit.getText() : "");
+            } else {
+                text.delete(offset, end);
+            }
+        }
+        if (text.length() > MAX_CONTENT_LENGTH) {
+            throw new ProjectException("Content must not exceed " + MAX_CONTENT_LENGTH + " characters.", HttpStatus.BAD_REQUEST);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Detaches the listed images of this note and returns their file paths, to delete once the change is flushed.
+     */
+    private List<String> removeImages(Note note, Set<String> imageIds) {
+        if (imageIds == null || imageIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Image> removed = note.getImages().stream()
+                .filter(image -> imageIds.contains(image.getImageId()))
+                .toList();
+        removed.forEach(note::removeImage);
+        return removed.stream().map(Image::getPath).toList();
+    }
+
     private ImageResponse imageResponse(Image image) {
         return ImageResponse
                 .builder()
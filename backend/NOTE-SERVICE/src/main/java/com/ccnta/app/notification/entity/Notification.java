@@ -17,7 +17,7 @@ public class Notification extends AbstractEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "_notification_id_seq_generator")
-    @SequenceGenerator(name = "_notification_id_seq_generator", sequenceName = "_notification_id_seq", allocationSize = 1, initialValue = 1)
+    @SequenceGenerator(name = "_notification_id_seq_generator", sequenceName = "_notification_id_seq", allocationSize = 50, initialValue = 1)
     @Column(name = "id", nullable = false, updatable = false, unique = true)
     private Long id;
 
@@ -8,7 +8,9 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -21,11 +23,23 @@ public class NotificationService {
 
     @Transactional
     public void notify(Set<String> usernames, Notification notification) {
-        for (String username : usernames) {
-            notification.setRecipient(username);
-            notificationRepository.save(notification);
-            send(username, notification);
-        }
+        List<Notification> notifications = usernames.stream()
+                .map(username -> copyFor(username, notification))
+                .toList();
+
+        // one batched insert for the whole fan-out, then push to each recipient
+        notificationRepository.saveAll(notifications);
+        notifications.forEach(saved -> send(saved.getRecipient(), saved));
+    }
+
+    private Notification copyFor(String recipient, Notification notification) {
+        return Notification.builder()
+                .notificationId(UUID.randomUUID().toString())
+                .type(notification.getType())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .recipient(recipient)
+                .build();
     }
 
     private void send(String receiver, Notification notification) {
@@ -0,0 +1,14 @@
+package com.ccnta.app.presence.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.Serializable;
+
+/**
+ * Where one STOMP session of a user is: the project it views and, while editing, the note and the
+ * cursor selection ({@code anchor} to {@code head}) at collaboration {@code revision}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record Presence(String sessionId, String username, String projectId, String noteId,
+                       Integer anchor, Integer head, Long revision) implements Serializable {
+}
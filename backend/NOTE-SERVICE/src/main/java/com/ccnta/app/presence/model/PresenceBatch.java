@@ -0,0 +1,22 @@
+package com.ccnta.app.presence.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Broadcast to every node once per tick with the changes of the sessions connected to the sender,
+ * and once per refresh interval with all of them.
+ *
+ * @param syncRequest sent by a node that just started; the others answer with all their sessions
+ */
+public record PresenceBatch(boolean syncRequest, List<PresenceDiff> diffs) implements Serializable {
+
+    public static PresenceBatch of(List<PresenceDiff> diffs) {
+        return new PresenceBatch(false, diffs);
+    }
+
+    public static PresenceBatch requestSync() {
+        return new PresenceBatch(true, List.of());
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.ccnta.app.presence.model;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What changed in a project's presence during one tick: the latest state of each session that
+ * joined or moved, and the sessions that left.
+ */
+public record PresenceDiff(String projectId, List<Presence> updated, List<String> removed) implements Serializable {
+
+    /**
+     * @return one diff with the effect of this one followed by {@code newer}
+     */
+    public PresenceDiff merge(PresenceDiff newer) {
+        Map<String, Presence> merged = new LinkedHashMap<>();
+        Set<String> gone = new LinkedHashSet<>(removed);
+        updated.forEach(presence -> merged.put(presence.sessionId(), presence));
+        newer.updated().forEach(presence -> {
+            merged.put(presence.sessionId(), presence);
+            gone.remove(presence.sessionId());
+        });
+        newer.removed().forEach(sessionId -> {
+            merged.remove(sessionId);
+            gone.add(sessionId);
+        });
+        return new PresenceDiff(projectId, List.copyOf(merged.values()), List.copyOf(gone));
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.ccnta.app.presence.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Sent by a client when it opens a project or note, or moves its cursor. Fields left null clear them.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresenceRequest {
+
+    private String noteId;
+    private Integer anchor;
+    private Integer head;
+    private Long revision;
+
+}
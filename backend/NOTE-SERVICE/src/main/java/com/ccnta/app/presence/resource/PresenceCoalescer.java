@@ -0,0 +1,44 @@
+package com.ccnta.app.presence.resource;
+
+import com.ccnta.app.presence.model.PresenceDiff;
+import com.ccnta.app.presence.service.PresenceService;
+import com.ccnta.app.websocket.OutboundCoalescer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Merges the presence diffs waiting for a slow session into one, so it catches up with a single
+ * frame per project however many ticks it fell behind.
+ */
+@Component
+@RequiredArgsConstructor
+public class PresenceCoalescer implements OutboundCoalescer {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(String destination) {
+        return destination.startsWith(PresenceService.TOPIC);
+    }
+
+    @Override
+    public Message<?> merge(Message<?> queued, Message<?> newer) {
+        try {
+            PresenceDiff merged = read(queued).merge(read(newer));
+            return MessageBuilder.createMessage(objectMapper.writeValueAsBytes(merged), queued.getHeaders());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private PresenceDiff read(Message<?> message) throws IOException {
+        return objectMapper.readValue((byte[]) message.getPayload(), PresenceDiff.class);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.ccnta.app.presence.resource;
+
+import com.ccnta.app.exception.ErrorMessage;
+import com.ccnta.app.exception.ProjectException;
+import com.ccnta.app.presence.model.Presence;
+import com.ccnta.app.presence.model.PresenceRequest;
+import com.ccnta.app.presence.service.IPresenceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * STOMP endpoints of presence. A client subscribes to {@code /ccnta/presence/{projectId}} once for who
+ * is there and to {@code /broadcast/presence/{projectId}} for the changes that follow, sends its own
+ * presence and cursor to {@code /ccnta/presence/{projectId}} and a heartbeat to
+ * {@code /ccnta/presence/heartbeat} well within the TTL.
+ */
+@Controller
+@RequiredArgsConstructor
+@Slf4j
+public class PresenceResource {
+
+    private final IPresenceService presenceService;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @SubscribeMapping("/presence/{projectId}")
+    public List<Presence> list(@DestinationVariable String projectId, Principal principal) {
+        return presenceService.list(principal.getName(), projectId);
+    }
+
+    @MessageMapping("/presence/{projectId}")
+    public void update(@DestinationVariable String projectId,
+                       @Payload PresenceRequest request,
+                       @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId,
+                       Principal principal) {
+        presenceService.update(sessionId, principal.getName(), projectId, request);
+    }
+
+    @MessageMapping("/presence/heartbeat")
+    public void heartbeat(@Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId, Principal principal) {
+        if (!presenceService.heartbeat(sessionId)) {
+            throw new ProjectException("Presence expired, send it again", HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @MessageExceptionHandler(ProjectException.class)
+    public void handleProjectException(ProjectException exp, Principal principal) {
+        log.debug("Presence request of {} failed: {}", principal.getName(), exp.getMessage());
+        messagingTemplate.convertAndSend("/user/" + principal.getName() + "/queue/errors",
+                ErrorMessage.builder()
+                        .code(String.valueOf(exp.getStatus().value()))
+                        .message(exp.getMessage())
+                        .status(exp.getStatus())
+                        .timestamp(LocalDateTime.now().toString())
+                        .build());
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.ccnta.app.presence.service;
+
+import com.ccnta.app.presence.model.Presence;
+import com.ccnta.app.presence.model.PresenceRequest;
+
+import java.util.List;
+
+public interface IPresenceService {
+
+    void update(String sessionId, String username, String projectId, PresenceRequest request);
+
+    /**
+     * @return false when the session's presence expired and has to be sent again
+     */
+    boolean heartbeat(String sessionId);
+
+    List<Presence> list(String username, String projectId);
+
+    boolean canView(String username, String projectId);
+
+}
@@ -0,0 +1,287 @@
+package com.ccnta.app.presence.service;
+
+import com.ccnta.app.presence.model.Presence;
+import com.ccnta.app.presence.model.PresenceDiff;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Who is where, per project, sharded by project so that updates to different projects rarely
+ * contend. Each shard is guarded by its own lock.
+ * <p>
+ * Sessions connected to this node ("local") expire when no heartbeat arrived within the TTL; their
+ * changes are coalesced per session until {@link #drain} hands them out once per tick. Sessions of
+ * other nodes ("remote") are applied as their node reports them, and expire on the same TTL unless
+ * reported again, so a lost removal does not leave a ghost cursor for as long as that node lives.
+ */
+public class PresenceRegistry {
+
+    private final Shard[] shards;
+    private final long ttlMillis;
+    // project of each local session, a session is in one project at a time
+    private final Map<String, String> sessionProjects = new ConcurrentHashMap<>();
+
+    /**
+     * @param shards number of shards, rounded up to a power of two
+     */
+    public PresenceRegistry(int shards, long ttlMillis) {
+        int size = Integer.highestOneBit(Math.max(1, shards - 1)) << 1;
+        this.shards = new Shard[shards <= 1 ? 1 : size];
+        for (int i = 0; i < this.shards.length; i++) {
+            this.shards[i] = new Shard();
+        }
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Records a local session's presence and refreshes its heartbeat. An unchanged presence only refreshes.
+     */
+    public void update(Presence presence, long now) {
+        String previous = sessionProjects.put(presence.sessionId(), presence.projectId());
+        if (previous != null && !previous.equals(presence.projectId())) {
+            remove(previous, presence.sessionId());
+        }
+
+        Shard shard = shard(presence.projectId());
+        synchronized (shard) {
+            Map<String, Entry> sessions = shard.projects.computeIfAbsent(presence.projectId(), id -> new HashMap<>());
+            Entry entry = sessions.get(presence.sessionId());
+            if (entry != null && entry.presence.equals(presence)) {
+                entry.lastSeen = now;
+                return;
+            }
+            sessions.put(presence.sessionId(), new Entry(presence, now, null));
+            shard.changes(presence.projectId()).updated.put(presence.sessionId(), presence);
+            shard.changes(presence.projectId()).removed.remove(presence.sessionId());
+        }
+    }
+
+    /**
+     * @return false when the session is not known, e.g. it expired and has to send its presence again
+     */
+    public boolean heartbeat(String sessionId, long now) {
+        String projectId = sessionProjects.get(sessionId);
+        if (projectId == null) {
+            return false;
+        }
+        Shard shard = shard(projectId);
+        synchronized (shard) {
+            Map<String, Entry> sessions = shard.projects.get(projectId);
+            Entry entry = sessions != null ? sessions.get(sessionId) : null;
+            if (entry == null) {
+                return false;
+            }
+            entry.lastSeen = now;
+            return true;
+        }
+    }
+
+    public void remove(String sessionId) {
+        String projectId = sessionProjects.remove(sessionId);
+        if (projectId != null) {
+            remove(projectId, sessionId);
+        }
+    }
+
+    public List<Presence> list(String projectId) {
+        Shard shard = shard(projectId);
+        synchronized (shard) {
+            Map<String, Entry> sessions = shard.projects.get(projectId);
+            return sessions == null ? List.of() : sessions.values().stream().map(entry -> entry.presence).toList();
+        }
+    }
+
+    /**
+     * Expires local sessions that missed their heartbeat, then returns and forgets the local changes since the last call.
+     */
+    public List<PresenceDiff> drain(long now) {
+        long expiredBefore = now - ttlMillis;
+        List<PresenceDiff> diffs = new ArrayList<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                shard.projects.forEach((projectId, sessions) -> {
+                    Iterator<Entry> entries = sessions.values().iterator();
+                    while (entries.hasNext()) {
+                        Entry entry = entries.next();
+                        if (entry.member == null && entry.lastSeen < expiredBefore) {
+                            entries.remove();
+                            sessionProjects.remove(entry.presence.sessionId(), projectId);
+                            shard.changes(projectId).updated.remove(entry.presence.sessionId());
+                            shard.changes(projectId).removed.add(entry.presence.sessionId());
+                        }
+                    }
+                });
+                shard.projects.values().removeIf(Map::isEmpty);
+
+                shard.pending.forEach((projectId, changes) -> diffs.add(changes.toDiff(projectId)));
+                shard.pending.clear();
+            }
+        }
+        return diffs;
+    }
+
+    /**
+     * @return every local session, as diffs that make another node's view complete
+     */
+    public List<PresenceDiff> local() {
+        List<PresenceDiff> diffs = new ArrayList<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                shard.projects.forEach((projectId, sessions) -> {
+                    List<Presence> local = sessions.values().stream()
+                            .filter(entry -> entry.member == null)
+                            .map(entry -> entry.presence)
+                            .toList();
+                    if (!local.isEmpty()) {
+                        diffs.add(new PresenceDiff(projectId, local, List.of()));
+                    }
+                });
+            }
+        }
+        return diffs;
+    }
+
+    /**
+     * Applies changes reported by another node, as of {@code now}. A session reported again unchanged,
+     * as in the node's periodic full state, is only refreshed.
+     *
+     * @return what changed for this node's subscribers, or null when nothing did
+     */
+    public PresenceDiff applyRemote(PresenceDiff diff, UUID member, long now) {
+        Shard shard = shard(diff.projectId());
+        synchronized (shard) {
+            Map<String, Entry> sessions = shard.projects.computeIfAbsent(diff.projectId(), id -> new HashMap<>());
+            List<String> removed = new ArrayList<>();
+            for (String sessionId : diff.removed()) {
+                if (sessions.remove(sessionId) != null) {
+                    removed.add(sessionId);
+                }
+            }
+            List<Presence> updated = new ArrayList<>();
+            for (Presence presence : diff.updated()) {
+                Entry entry = sessions.get(presence.sessionId());
+                if (entry != null && member.equals(entry.member) && entry.presence.equals(presence)) {
+                    entry.lastSeen = now;
+                } else {
+                    sessions.put(presence.sessionId(), new Entry(presence, now, member));
+                    updated.add(presence);
+                }
+            }
+            if (sessions.isEmpty()) {
+                shard.projects.remove(diff.projectId());
+            }
+            return updated.isEmpty() && removed.isEmpty() ? null : new PresenceDiff(diff.projectId(), updated, removed);
+        }
+    }
+
+    /**
+     * Drops sessions of other nodes that were not reported within the TTL.
+     *
+     * @return the removals, per project
+     */
+    public List<PresenceDiff> expireRemote(long now) {
+        long expiredBefore = now - ttlMillis;
+        return removeRemote(entry -> entry.lastSeen < expiredBefore);
+    }
+
+    /**
+     * Drops every session of a node that left the cluster.
+     *
+     * @return the removals, per project
+     */
+    public List<PresenceDiff> removeMember(UUID member) {
+        return removeRemote(entry -> member.equals(entry.member));
+    }
+
+    public int localSessions() {
+        return sessionProjects.size();
+    }
+
+    private List<PresenceDiff> removeRemote(Predicate<Entry> filter) {
+        List<PresenceDiff> diffs = new ArrayList<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                shard.projects.forEach((projectId, sessions) -> {
+                    List<String> removed = new ArrayList<>();
+                    sessions.values().removeIf(entry -> {
+                        boolean gone = entry.member != null && filter.test(entry);
+                        if (gone) {
+                            removed.add(entry.presence.sessionId());
+                        }
+                        return gone;
+                    });
+                    if (!removed.isEmpty()) {
+                        diffs.add(new PresenceDiff(projectId, List.of(), removed));
+                    }
+                });
+                shard.projects.values().removeIf(Map::isEmpty);
+            }
+        }
+        return diffs;
+    }
+
+    private void remove(String projectId, String sessionId) {
+        Shard shard = shard(projectId);
+        synchronized (shard) {
+            Map<String, Entry> sessions = shard.projects.get(projectId);
+            if (sessions == null || sessions.remove(sessionId) == null) {
+                return;
+            }
+            if (sessions.isEmpty()) {
+                shard.projects.remove(projectId);
+            }
+            shard.changes(projectId).updated.remove(sessionId);
+            shard.changes(projectId).removed.add(sessionId);
+        }
+    }
+
+    private Shard shard(String projectId) {
+        int hash = projectId.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (shards.length - 1)];
+    }
+
+    private static final class Shard {
+
+        private final Map<String, Map<String, Entry>> projects = new HashMap<>();
+        private final Map<String, Changes> pending = new HashMap<>();
+
+        private Changes changes(String projectId) {
+            return pending.computeIfAbsent(projectId, id -> new Changes());
+        }
+    }
+
+    private static final class Changes {
+
+        // latest presence per session, so several moves within a tick are sent once
+        private final Map<String, Presence> updated = new LinkedHashMap<>();
+        private final Set<String> removed = new LinkedHashSet<>();
+
+        private PresenceDiff toDiff(String projectId) {
+            return new PresenceDiff(projectId, List.copyOf(updated.values()), List.copyOf(removed));
+        }
+    }
+
+    private static final class Entry {
+
+        private final Presence presence;
+        private final UUID member;
+        private long lastSeen;
+
+        private Entry(Presence presence, long lastSeen, UUID member) {
+            this.presence = presence;
+            this.lastSeen = lastSeen;
+            this.member = member;
+        }
+    }
+
+}
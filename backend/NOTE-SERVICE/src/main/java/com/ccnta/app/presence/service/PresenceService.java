@@ -0,0 +1,174 @@
+package com.ccnta.app.presence.service;
+
+import com.ccnta.app.authority.emums.Permissions;
+import com.ccnta.app.authority.service.ProjectAccessResolver;
+import com.ccnta.app.exception.ProjectException;
+import com.ccnta.app.presence.model.Presence;
+import com.ccnta.app.presence.model.PresenceBatch;
+import com.ccnta.app.presence.model.PresenceDiff;
+import com.ccnta.app.presence.model.PresenceRequest;
+import com.hazelcast.cluster.MembershipAdapter;
+import com.hazelcast.cluster.MembershipEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Presence of users in projects and notes, with live cursors.
+ * <p>
+ * Clients report where they are and send heartbeats; the {@link PresenceRegistry} keeps it in memory.
+ * Once per tick the changes of the tick go out as one {@link PresenceDiff} per project on
+ * {@code /broadcast/presence/{projectId}}, however many cursor moves happened, and to the other
+ * nodes over a Hazelcast topic, which forward them to their own subscribers. Every refresh interval,
+ * each node also publishes all of its sessions: the others keep a remote session only as long as
+ * it keeps being reported, so one lost diff cannot leave it behind for good.
+ * <p>
+ * Exposes {@code presence.sessions} and {@code presence.tick} through Micrometer.
+ */
+@Service
+@Slf4j
+public class PresenceService implements IPresenceService {
+
+    public static final String TOPIC = "/broadcast/presence/";
+    private static final String CLUSTER_TOPIC = "presence";
+
+    private final PresenceRegistry registry;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ProjectAccessResolver projectAccessResolver;
+    private final HazelcastInstance hazelcastInstance;
+    private final ITopic<PresenceBatch> topic;
+    private final Timer tickTimer;
+
+    public PresenceService(SimpMessagingTemplate messagingTemplate, ProjectAccessResolver projectAccessResolver,
+                           HazelcastInstance hazelcastInstance, MeterRegistry meterRegistry,
+                           @Value("${application.presence.shards:16}") int shards,
+                           @Value("${application.presence.ttl-seconds:30}") long ttlSeconds) {
+        this.registry = new PresenceRegistry(shards, ttlSeconds * 1000);
+        this.messagingTemplate = messagingTemplate;
+        this.projectAccessResolver = projectAccessResolver;
+        this.hazelcastInstance = hazelcastInstance;
+        this.topic = hazelcastInstance.getTopic(CLUSTER_TOPIC);
+        this.tickTimer = meterRegistry.timer("presence.tick");
+        meterRegistry.gauge("presence.sessions", registry, PresenceRegistry::localSessions);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        topic.addMessageListener(this::onBatch);
+        hazelcastInstance.getCluster().addMembershipListener(new MembershipAdapter() {
+            @Override
+            public void memberRemoved(MembershipEvent event) {
+                send(registry.removeMember(event.getMember().getUuid()));
+            }
+        });
+        // nodes already running only report changes, ask them once for everything
+        topic.publish(PresenceBatch.requestSync());
+    }
+
+    @Override
+    public void update(String sessionId, String username, String projectId, PresenceRequest request) {
+        authorize(username, projectId, Permissions.VIEW_PROJECT);
+        if (request.getNoteId() != null) {
+            authorize(username, projectId, Permissions.VIEW_NOTE);
+        }
+        registry.update(new Presence(sessionId, username, projectId, request.getNoteId(),
+                request.getAnchor(), request.getHead(), request.getRevision()), System.currentTimeMillis());
+    }
+
+    @Override
+    public boolean heartbeat(String sessionId) {
+        return registry.heartbeat(sessionId, System.currentTimeMillis());
+    }
+
+    @Override
+    public List<Presence> list(String username, String projectId) {
+        authorize(username, projectId, Permissions.VIEW_PROJECT);
+        return registry.list(projectId);
+    }
+
+    @Override
+    public boolean canView(String username, String projectId) {
+        return projectAccessResolver.isAllowed(username, projectId, Permissions.VIEW_PROJECT);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        registry.remove(event.getSessionId());
+    }
+
+    @Scheduled(fixedRateString = "${application.presence.tick-ms:200}")
+    public void tick() {
+        tickTimer.record(() -> {
+            List<PresenceDiff> diffs = registry.drain(System.currentTimeMillis());
+            if (diffs.isEmpty()) {
+                return;
+            }
+            send(diffs);
+            publish(PresenceBatch.of(diffs));
+        });
+    }
+
+    @Scheduled(fixedRateString = "${application.presence.refresh-ms:10000}")
+    public void refresh() {
+        List<PresenceDiff> local = registry.local();
+        if (!local.isEmpty()) {
+            publish(PresenceBatch.of(local));
+        }
+        send(registry.expireRemote(System.currentTimeMillis()));
+    }
+
+    private void onBatch(Message<PresenceBatch> message) {
+        if (message.getPublishingMember().localMember()) {
+            return;
+        }
+        PresenceBatch batch = message.getMessageObject();
+        if (batch.syncRequest()) {
+            List<PresenceDiff> local = registry.local();
+            if (!local.isEmpty()) {
+                publish(PresenceBatch.of(local));
+            }
+            return;
+        }
+        UUID member = message.getPublishingMember().getUuid();
+        long now = System.currentTimeMillis();
+        send(batch.diffs().stream()
+                .map(diff -> registry.applyRemote(diff, member, now))
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    private void send(List<PresenceDiff> diffs) {
+        diffs.forEach(diff -> messagingTemplate.convertAndSend(TOPIC + diff.projectId(), diff));
+    }
+
+    private void publish(PresenceBatch batch) {
+        try {
+            topic.publish(batch);
+        } catch (Exception e) {
+            // other nodes catch up with the next change of these sessions, or the next refresh
+            log.warn("Failed to broadcast presence of {} projects: {}", batch.diffs().size(), e.getMessage());
+        }
+    }
+
+    private void authorize(String username, String projectId, Permissions permission) {
+        if (!projectAccessResolver.isAllowed(username, projectId, permission)) {
+            throw new ProjectException("You are not authorized to perform this action", HttpStatus.FORBIDDEN);
+        }
+    }
+
+}
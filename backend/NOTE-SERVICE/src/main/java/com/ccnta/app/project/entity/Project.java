@@ -4,10 +4,12 @@ import com.ccnta.app.collaborator.entity.Collaborator;
 import com.ccnta.app.draft.entity.Draft;
 import com.ccnta.app.note.entity.Note;
 import com.ccnta.app.shared.AbstractEntity;
+import com.ccnta.app.shared.Versioned;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.HashSet;
@@ -20,7 +22,7 @@ import java.util.stream.Collectors;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "_projects")
+@Table(name = "_projects", indexes = @Index(name = "idx_projects_created_at_id", columnList = "created_at, id"))
 //@ToString(exclude = {"notes", "drafts", "collaborators"})
 @NamedQueries({
         @NamedQuery(name = "Project.findByProjectId", query = "SELECT P FROM Project P WHERE P.projectId=:projectId"),
@@ -51,15 +53,68 @@ import java.util.stream.Collectors;
                         WHERE p.projectId = :projectId
                         AND (:username = p.createdBy OR c.username = :username)
                         """
-        )
+        ),
+        @NamedQuery(name = "Project.scrollProjects", query = """
+                    SELECT p
+                    FROM Project p
+                    WHERE (p.createdBy = :username
+                           OR EXISTS (SELECT c FROM p.collaborators c WHERE c.username = :username))
+                    AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id))
+                    ORDER BY p.createdAt DESC, p.id DESC
+                """),
+        /*
+         * Everything PermissionInterceptor needs for (username, projectId) in one statement:
+         * one row per permission held, or a single row of nulls when the user holds none.
+         * resourceId is the noteId/draftId of the request, if any; resourceOwner tells
+         * whether the user created it.
+         */
+        @NamedQuery(name = "Project.access", query = """
+                    SELECT new com.ccnta.app.authority.model.PermissionGrant(
+                        CASE WHEN p.createdBy = :username THEN true ELSE false END,
+                        a.name,
+                        pe.name,
+                        CASE WHEN EXISTS (SELECT n.id FROM Note n
+                                          WHERE n.project = p AND n.noteId = :resourceId AND n.createdBy = :username)
+                               OR EXISTS (SELECT d.id FROM Draft d
+                                          WHERE d.project = p AND d.draftId = :resourceId AND d.createdBy = :username)
+                             THEN true ELSE false END
+                    )
+                    FROM Project p
+                    LEFT JOIN p.collaborators c ON (c.username = :username OR LOWER(c.email) = LOWER(:username))
+                    LEFT JOIN c.authorities a
+                    LEFT JOIN a.permissions pe
+                    WHERE p.projectId = :projectId
+                """),
+        @NamedQuery(name = "Project.fetchNotesByIdIn", query = "SELECT DISTINCT P FROM Project P WHERE P.id IN :ids"),
+        @NamedQuery(name = "Project.fetchDraftsByIdIn", query = "SELECT DISTINCT P FROM Project P WHERE P.id IN :ids")
 
 })
+/*
+ * Listing graphs. Notes and drafts are fetched by two separate queries so their images
+ * do not multiply each other's rows, and so that the paged query itself stays free of
+ * collection fetches (which Hibernate would otherwise paginate in memory).
+ */
+@NamedEntityGraphs({
+        @NamedEntityGraph(
+                name = Project.NOTES_GRAPH,
+                attributeNodes = @NamedAttributeNode(value = "notes", subgraph = "notes.images"),
+                subgraphs = @NamedSubgraph(name = "notes.images", attributeNodes = @NamedAttributeNode("images"))
+        ),
+        @NamedEntityGraph(
+                name = Project.DRAFTS_GRAPH,
+                attributeNodes = @NamedAttributeNode(value = "drafts", subgraph = "drafts.images"),
+                subgraphs = @NamedSubgraph(name = "drafts.images", attributeNodes = @NamedAttributeNode("images"))
+        )
+})
 @DynamicUpdate
-public class Project extends AbstractEntity {
+public class Project extends AbstractEntity implements Versioned {
+
+    public static final String NOTES_GRAPH = "Project.notes";
+    public static final String DRAFTS_GRAPH = "Project.drafts";
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "_project_id_seq_generator")
-    @SequenceGenerator(name = "_project_id_seq_generator", sequenceName = "_project_id_seq", allocationSize = 1, initialValue = 1)
+    @SequenceGenerator(name = "_project_id_seq_generator", sequenceName = "_project_id_seq", allocationSize = 50, initialValue = 1)
     @Column(name = "id", nullable = false, updatable = false, unique = true)
     private Long id;
 
@@ -69,6 +124,11 @@ public class Project extends AbstractEntity {
     private String title;
     private String description;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     private Set<Note> notes = new HashSet<>();
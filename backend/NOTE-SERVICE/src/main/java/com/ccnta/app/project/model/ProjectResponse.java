@@ -6,6 +6,7 @@ import com.ccnta.app.note.model.NoteResponse;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.Set;
 
@@ -15,11 +16,12 @@ import java.util.Set;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @NoArgsConstructor
 @AllArgsConstructor
-public class ProjectResponse {
+public class ProjectResponse implements Serializable {
 
     private String projectId;
     private String title;
     private String description;
+    private Long version;
     private String createdAt;
     private String updatedAt;
     private CollaboratorResponse createdBy;
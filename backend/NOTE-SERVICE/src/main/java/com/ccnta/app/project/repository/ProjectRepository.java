@@ -1,14 +1,19 @@
 package com.ccnta.app.project.repository;
 
+import com.ccnta.app.authority.model.PermissionGrant;
 import com.ccnta.app.project.entity.Project;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +26,17 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     @Query(name = "Project.allProjects")
     Page<Project> allProjects(@Param("username") String username, Pageable pageable);
 
+    @Query(name = "Project.scrollProjects")
+    List<Project> scrollProjects(@Param("username") String username,
+                                 @Param("createdAt") Date createdAt,
+                                 @Param("id") Long id,
+                                 Limit limit);
+
+    @Query(name = "Project.access")
+    List<PermissionGrant> findAccess(@Param("username") String username,
+                                     @Param("projectId") String projectId,
+                                     @Param("resourceId") String resourceId);
+
     @Query(name = "Project.byProjectIdAndCreator")
     Optional<Project> findByProjectId(@Param("projectId") String projectId, @Param("creator") String authenticatedUser);
 
@@ -29,4 +45,18 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
 
     @Query(name = "Project.findByProjectIdAndUsername")
     Optional<Project> findByProjectIdAndUsername(@Param("projectId") String projectId, @Param("username") String username);
+
+    /**
+     * Initializes notes and their images for already loaded projects, in one statement.
+     */
+    @EntityGraph(value = Project.NOTES_GRAPH)
+    @Query(name = "Project.fetchNotesByIdIn")
+    List<Project> fetchNotesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Initializes drafts and their images for already loaded projects, in one statement.
+     */
+    @EntityGraph(value = Project.DRAFTS_GRAPH)
+    @Query(name = "Project.fetchDraftsByIdIn")
+    List<Project> fetchDraftsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,11 +1,15 @@
 package com.ccnta.app.project.resource;
 
+import com.ccnta.app.configuration.response.CachedResponse;
+import com.ccnta.app.configuration.response.ConditionalGet;
 import com.ccnta.app.project.model.ProjectRequest;
 import com.ccnta.app.project.model.ProjectResponse;
 import com.ccnta.app.project.service.IProjectService;
 import com.ccnta.app.shared.GlobalResponse;
+import com.ccnta.app.shared.IfMatch;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -20,6 +24,8 @@ public class ProjectResource {
 
     private final IProjectService projectService;
 
+    @CachedResponse
+    @ConditionalGet
     @GetMapping(path = {"all"})
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<GlobalResponse<List<ProjectResponse>>> allProjects(
@@ -30,6 +36,19 @@ public class ProjectResource {
         return ResponseEntity.ok(projectService.allProjects(authentication.getName(), page, limit));
     }
 
+    @ConditionalGet
+    @GetMapping(path = {"scroll"})
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<GlobalResponse<List<ProjectResponse>>> scrollProjects(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            Authentication authentication
+    ) {
+        return ResponseEntity.ok(projectService.scrollProjects(authentication.getName(), cursor, size));
+    }
+
+    @CachedResponse
+    @ConditionalGet
     @GetMapping(path = {"details"})
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<GlobalResponse<ProjectResponse>> getProjectDetails(
@@ -48,6 +67,7 @@ public class ProjectResource {
         return ResponseEntity.ok(projectService.createProject(request, authentication.getName()));
     }
 
+    @ConditionalGet
     @GetMapping(path = {"filter"})
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<GlobalResponse<List<ProjectResponse>>> filterProjects(
@@ -63,8 +83,9 @@ public class ProjectResource {
     public ResponseEntity<GlobalResponse<Boolean>> updateProject(
             @RequestParam(name = "projectId") String projectId,
             @Valid @RequestBody ProjectRequest request,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
-        return ResponseEntity.ok(projectService.updateProject(projectId, request, authentication.getName()));
+        return ResponseEntity.ok(projectService.updateProject(projectId, request, authentication.getName(), IfMatch.of(ifMatch)));
     }
 
     @DeleteMapping(path = {"delete"})
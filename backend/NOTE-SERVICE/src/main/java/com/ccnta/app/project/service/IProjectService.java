@@ -4,6 +4,7 @@ import com.ccnta.app.collaborator.model.CollaboratorRequest;
 import com.ccnta.app.project.model.ProjectRequest;
 import com.ccnta.app.project.model.ProjectResponse;
 import com.ccnta.app.shared.GlobalResponse;
+import com.ccnta.app.shared.IfMatch;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -14,8 +15,9 @@ public interface IProjectService {
 
     GlobalResponse<Boolean> createProject(final ProjectRequest request, final String creator);
     GlobalResponse<List<ProjectResponse>> allProjects(final String authenticatedUser, final int page, final int limit);
+    GlobalResponse<List<ProjectResponse>> scrollProjects(final String authenticatedUser, final String cursor, final int size);
     GlobalResponse<ProjectResponse> projectDetails(final String projectId, final String creator);
-    GlobalResponse<Boolean> updateProject(final String projectId, final ProjectRequest request, final String creator);
+    GlobalResponse<Boolean> updateProject(final String projectId, final ProjectRequest request, final String creator, final IfMatch ifMatch);
     GlobalResponse<Boolean> deleteProject(final String projectId, final String creator);
     GlobalResponse<List<ProjectResponse>> filterProject(final String creator, final String query, final int page, final int limit);
 
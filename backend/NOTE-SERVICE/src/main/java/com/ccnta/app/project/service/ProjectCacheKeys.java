@@ -0,0 +1,184 @@
+package com.ccnta.app.project.service;
+
+import com.ccnta.app.collaborator.entity.Collaborator;
+import com.ccnta.app.configuration.cache.StaleKeyResolver;
+import com.ccnta.app.project.entity.Project;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Builds {@code projectCache} keys that embed a per-user generation.
+ * <p>
+ * A change to a project moves the generation of its owner and collaborators only, so their
+ * cached listings and details stop being reachable while every other user keeps theirs.
+ * Orphaned entries age out through the cache's TTL and LRU eviction. Generations live in a
+ * two-level cache over a Hazelcast map: every node sees the same ones, reads are served from
+ * the node's L1, and a moved generation is dropped from the other nodes' L1 through the
+ * invalidation topic, so an update is visible right away on the node that made it.
+ * <p>
+ * For stale-while-revalidate, a generation remembers the one it replaced: for
+ * {@code stale-while-revalidate.window-seconds} after a change, a miss may be served the
+ * previous generation's entry while the new one loads. The user who made the change is
+ * excluded and always sees their own write.
+ */
+@Component("projectCacheKeys")
+@Slf4j
+public class ProjectCacheKeys implements StaleKeyResolver {
+
+    public static final String PROJECT_CACHE = "projectCache";
+    private static final String GENERATIONS = "projectCacheGenerations";
+
+    private final CacheManager cacheManager;
+
+    @Value("${application.cache.stale-while-revalidate.window-seconds:30}")
+    private long staleWindowSeconds;
+
+    public ProjectCacheKeys(CacheManager cacheManager) {
+        // resolved on use: the cache manager looks this bean up when it creates projectCache
+        this.cacheManager = cacheManager;
+    }
+
+    public Key list(String username, int page, int size) {
+        return new Key(username, generation(username).current(), "list:" + page + ":" + size);
+    }
+
+    public Key details(String projectId, String username) {
+        return new Key(username, generation(username).current(), "details:" + projectId);
+    }
+
+    /**
+     * Version of everything the user sees across their projects; it changes whenever their generation moves.
+     */
+    public long version(String username) {
+        return generation(username).current();
+    }
+
+    /**
+     * ETag of the user's {@code @ConditionalGet} views, also accepted by {@code If-Match} on project updates.
+     * The user is part of it, so a browser shared between accounts never revalidates one user's listing
+     * with another user's copy.
+     */
+    public String eTag(String username) {
+        String version = username + ":" + version(username);
+        return DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String cacheName() {
+        return PROJECT_CACHE;
+    }
+
+    @Override
+    public Object staleKey(Object key) {
+        if (!(key instanceof Key current)) {
+            return null;
+        }
+
+        Generation generation = generation(current.username());
+        boolean withinWindow = System.currentTimeMillis() - generation.changedAt() <= staleWindowSeconds * 1000;
+        if (generation.current() != current.generation() || generation.changedAt() == 0 || !withinWindow
+                || current.username().equals(generation.changedBy())) {
+            return null;
+        }
+        return new Key(current.username(), generation.previous(), current.view());
+    }
+
+    /**
+     * Users whose cached project views include the project: its owner and collaborators.
+     */
+    public static Set<String> members(Project project) {
+        Set<String> members = new HashSet<>();
+        members.add(project.getCreatedBy());
+        if (project.getCollaborators() != null) {
+            project.getCollaborators()
+                    .stream()
+                    .map(Collaborator::getUsername)
+                    .forEach(members::add);
+        }
+        members.remove(null);
+        return members;
+    }
+
+    public void touch(Project project) {
+        touch(members(project));
+    }
+
+    /**
+     * Moves the users' generations once the current transaction commits, or right away without one.
+     */
+    public void touch(Collection<String> usernames) {
+        Set<String> users = Set.copyOf(usernames.stream().filter(Objects::nonNull).toList());
+        if (users.isEmpty()) {
+            return;
+        }
+        String changedBy = currentUser();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    advance(users, changedBy);
+                }
+            });
+        } else {
+            advance(users, changedBy);
+        }
+    }
+
+    private Generation generation(String username) {
+        // entries of another type are treated as a user without changes
+        Cache.ValueWrapper cached = generations().get(username);
+        return cached != null && cached.get() instanceof Generation generation ? generation : Generation.INITIAL;
+    }
+
+    private void advance(Set<String> users, String changedBy) {
+        Cache generations = generations();
+        long now = System.currentTimeMillis();
+        users.forEach(user -> {
+            // any new value works; a random one needs no atomic increment across nodes
+            long next = ThreadLocalRandom.current().nextLong();
+            generations.put(user, new Generation(next, generation(user).current(), now, changedBy));
+        });
+        log.debug("Invalidated cached projects of {} user(s)", users.size());
+    }
+
+    private Cache generations() {
+        return cacheManager.getCache(GENERATIONS);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    /**
+     * {@code projectCache} key: the view, scoped to the user and their generation.
+     */
+    public record Key(String username, long generation, String view) implements Serializable {
+    }
+
+    /**
+     * A user's current generation, the one it replaced, and when and by whom it was moved.
+     */
+    public record Generation(long current, long previous, long changedAt, String changedBy) implements Serializable {
+
+        static final Generation INITIAL = new Generation(0L, 0L, 0L, null);
+    }
+
+}
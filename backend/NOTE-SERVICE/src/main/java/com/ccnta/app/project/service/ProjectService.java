@@ -4,7 +4,9 @@ import com.ccnta.app.audit.enums.AuditAction;
 import com.ccnta.app.audit.service.AuditLogService;
 import com.ccnta.app.authority.entity.Authority;
 import com.ccnta.app.authority.repository.AuthorityRepository;
+import com.ccnta.app.authority.service.PermissionCache;
 import com.ccnta.app.client.AuthorizationServerClient;
+import com.ccnta.app.client.UserDirectory;
 import com.ccnta.app.client.response.UserResponse;
 import com.ccnta.app.collaborator.entity.Collaborator;
 import com.ccnta.app.collaborator.model.CollaboratorRequest;
@@ -27,17 +29,20 @@ import com.ccnta.app.project.entity.Project;
 import com.ccnta.app.project.model.ProjectRequest;
 import com.ccnta.app.project.model.ProjectResponse;
 import com.ccnta.app.project.repository.ProjectRepository;
+import com.ccnta.app.shared.AbstractEntity;
+import com.ccnta.app.shared.Cursor;
+import com.ccnta.app.shared.CursorPaging;
 import com.ccnta.app.shared.GlobalResponse;
+import com.ccnta.app.shared.IfMatch;
 import com.ccnta.app.shared.Paging;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
@@ -59,7 +64,6 @@ public class ProjectService implements IProjectService {
 
     private static final int MAX_PAGE_SIZE = 100;
     private static final String DEFAULT_SORT_FIELD = "createdAt";
-    private static final String PROJECT_CACHE = "projectCache";
     private static final String DEFAULT_AUTHORITY = "viewer";
 
     private final ProjectRepository projectRepository;
@@ -71,10 +75,12 @@ public class ProjectService implements IProjectService {
     private final AuditLogService auditService;
     private final NotificationService notificationService;
     private final AuthorityRepository authorityRepository;
+    private final UserDirectory userDirectory;
+    private final PermissionCache permissionCache;
+    private final ProjectCacheKeys projectCacheKeys;
 
     @Override
     @Transactional
-    @CacheEvict(value = PROJECT_CACHE, allEntries = true)
     public GlobalResponse<Boolean> createProject(final ProjectRequest request, final String creator) {
         validateProjectRequest(request, creator);
 
@@ -86,6 +92,7 @@ public class ProjectService implements IProjectService {
 
         try {
             Project savedProject = projectRepository.save(project);
+            projectCacheKeys.touch(savedProject);
 
             auditService.audit(
                     project(savedProject),
@@ -106,7 +113,8 @@ public class ProjectService implements IProjectService {
     }
 
     @Override
-    @Cacheable(value = PROJECT_CACHE, key = "#authenticatedUser + #pageNumber + #pageSize")
+    @Transactional
+    @Cacheable(value = ProjectCacheKeys.PROJECT_CACHE, key = "@projectCacheKeys.list(#authenticatedUser, #pageNumber, #pageSize)", sync = true)
     public GlobalResponse<List<ProjectResponse>> allProjects(
             String authenticatedUser,
             int pageNumber,
@@ -125,7 +133,26 @@ public class ProjectService implements IProjectService {
     }
 
     @Override
-    @Cacheable(value = PROJECT_CACHE, key = "#projectId + #authenticatedUser")
+    @Transactional
+    public GlobalResponse<List<ProjectResponse>> scrollProjects(String authenticatedUser, String cursor, int size) {
+        try {
+            int limit = CursorPaging.size(size, MAX_PAGE_SIZE);
+            Cursor after = Cursor.decode(cursor);
+            List<Project> rows = projectRepository.scrollProjects(authenticatedUser, after.createdAt(), after.id(), Limit.of(limit + 1));
+
+            return GlobalResponse.success(
+                    projectResponseList(CursorPaging.trim(rows, limit)),
+                    CursorPaging.of(rows, limit, Project::getId)
+            );
+        } catch (Exception e) {
+            log.error("Error scrolling projects for user: {}", authenticatedUser, e);
+            throw new ProjectException("Failed to fetch projects", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    @Cacheable(value = ProjectCacheKeys.PROJECT_CACHE, key = "@projectCacheKeys.details(#projectId, #authenticatedUser)", sync = true)
     public GlobalResponse<ProjectResponse> projectDetails(String projectId, String authenticatedUser) {
         return projectRepository.findByProjectIdAndUsername(projectId, authenticatedUser)
                 .map(this::mapToDetailedProjectResponse)
@@ -137,22 +164,24 @@ public class ProjectService implements IProjectService {
 
     @Override
     @Transactional
-    @CacheEvict(value = PROJECT_CACHE, allEntries = true)
     public GlobalResponse<Boolean> updateProject(
             String projectId,
             ProjectRequest request,
-            String authenticatedUser
+            String authenticatedUser,
+            IfMatch ifMatch
     ) {
 
         Project project = projectRepository.findByProjectIdAndUsername(projectId, authenticatedUser)
                 .orElseThrow(() -> new ProjectException(
                         format("Project not found - ID: %s, User: %s", projectId, authenticatedUser)
                 ));
+        IfMatch.check("Project", projectId, ifMatch, project, () -> projectCacheKeys.eTag(authenticatedUser));
 
         updateProjectFields(project, request, authenticatedUser);
 
         try {
             Project updatedProject = projectRepository.save(project);
+            projectCacheKeys.touch(updatedProject);
 
             auditService.audit(
                     project(updatedProject),
@@ -173,13 +202,14 @@ public class ProjectService implements IProjectService {
 
     @Override
     @Transactional
-    @CacheEvict(value = PROJECT_CACHE, allEntries = true)
     public GlobalResponse<Boolean> deleteProject(String projectId, String authenticatedUser) {
         try {
             Project project = findAndValidateProjectForDelete(projectId, authenticatedUser);
 
+            projectCacheKeys.touch(project);
             deleteProjectResources(project);
             projectRepository.delete(project);
+            permissionCache.evictProject(projectId);
 
             auditService.audit(
                     project(project),
@@ -200,6 +230,7 @@ public class ProjectService implements IProjectService {
     }
 
     @Override
+    @Transactional
     public GlobalResponse<List<ProjectResponse>> filterProject(
             String authenticatedUser,
             String query,
@@ -221,21 +252,7 @@ public class ProjectService implements IProjectService {
     }
 
     private GlobalResponse<List<ProjectResponse>> createProjectResponse(Page<Project> page) {
-        return GlobalResponse.success(page
-                        .getContent()
-                        .stream()
-                        .map(project -> ProjectResponse
-                                .builder()
-                                .projectId(project.getProjectId())
-                                .createdAt(project.getCreatedAt().toString())
-                                .createdBy(findUserByUsernameAndMap(project.getCreatedBy()))
-                                .updatedAt(project.getUpdatedAt().toString())
-                                .updatedBy(findUserByUsernameAndMap(project.getUpdatedBy()))
-                                .notes(project.getNotes().isEmpty() ? null : mapToNoteResponse(project.getNotes()))
-                                .drafts(project.getDrafts().isEmpty() ? null : mapToDraftResponse(project.getDrafts()))
-                                .build()
-                        )
-                        .toList(),
+        return GlobalResponse.success(projectResponseList(page.getContent()),
                 Paging.builder()
                         .first(page.isFirst())
                         .last(page.isLast())
@@ -247,24 +264,63 @@ public class ProjectService implements IProjectService {
         );
     }
 
+    private List<ProjectResponse> projectResponseList(List<Project> projects) {
+        fetchContents(projects);
+        prefetchUsers(projects);
+        return projects
+                .stream()
+                .map(project -> ProjectResponse
+                        .builder()
+                        .projectId(project.getProjectId())
+                        .createdAt(project.getCreatedAt().toString())
+                        .createdBy(findUserByUsernameAndMap(project.getCreatedBy()))
+                        .updatedAt(project.getUpdatedAt().toString())
+                        .updatedBy(findUserByUsernameAndMap(project.getUpdatedBy()))
+                        .notes(project.getNotes().isEmpty() ? null : mapToNoteResponse(project.getNotes()))
+                        .drafts(project.getDrafts().isEmpty() ? null : mapToDraftResponse(project.getDrafts()))
+                        .build()
+                )
+                .toList();
+    }
+
+    /**
+     * Loads notes, drafts and their images for a page of projects with two queries, so the
+     * page costs the same number of statements no matter how much content it holds.
+     * The results are the same managed instances, so only their collections get initialized.
+     */
+    private void fetchContents(List<Project> projects) {
+        if (projects.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = projects.stream().map(Project::getId).toList();
+        projectRepository.fetchNotesByIdIn(ids);
+        projectRepository.fetchDraftsByIdIn(ids);
+    }
+
     private CollaboratorResponse findUserByUsernameAndMap(String username) {
         if (username == null) {
             throw new IllegalArgumentException("Username cannot be null");
         }
 
-        try {
-            return Optional.ofNullable(authorizationClient.userByUsername(username))
-                    .map(GlobalResponse::getData)
-                    .map(response -> CollaboratorResponse.builder()
-                            .name(response.getFirstName() + " " + response.getLastName())
-                            .username(response.getUsername())
-                            .profile(response.getProfile())
-                            .email(response.getEmail())
-                            .build())
-                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
-        } catch (Exception e) {
-            throw new ProjectException("Failed to fetch user details for: " + username, e);
+        return userDirectory.get(username);
+    }
+
+    private void prefetchUsers(Collection<Project> projects) {
+        List<AbstractEntity> entities = new ArrayList<>();
+        for (Project project : projects) {
+            entities.add(project);
+            project.getNotes().forEach(note -> {
+                entities.add(note);
+                entities.addAll(note.getImages());
+            });
+            project.getDrafts().forEach(draft -> {
+                entities.add(draft);
+                entities.addAll(draft.getImages());
+            });
         }
+
+        userDirectory.prefetch(UserDirectory.auditors(entities.stream()));
     }
 
     private Set<NoteResponse> mapToNoteResponse(Set<Note> notes) {
@@ -275,6 +331,7 @@ public class ProjectService implements IProjectService {
                                 .noteId(note.getNoteId())
                                 .title(note.getTitle())
                                 .content(note.getContent())
+                                .version(note.getVersion())
                                 .images(
                                         note.getImages().isEmpty() ? null : note.getImages().stream()
                                                 .map(image -> ImageResponse
@@ -306,6 +363,7 @@ public class ProjectService implements IProjectService {
                                 .draftId(note.getDraftId())
                                 .title(note.getTitle())
                                 .content(note.getContent())
+                                .version(note.getVersion())
                                 .images(
                                         note.getImages().isEmpty() ? null : note.getImages().stream()
                                                 .map(image -> ImageResponse
@@ -380,6 +438,8 @@ public class ProjectService implements IProjectService {
                 collaborator.addAuthority(authority(authority));
                 project.addCollaborator(collaborator);
                 collaboratorRepository.save(collaborator);
+                // authorities are per collaborator, so this can change their access to other projects too
+                permissionCache.evictUsers(Arrays.asList(collaborator.getUsername(), collaborator.getEmail()));
             } catch (Exception e) {
                 log.error("Failed to add collaborator: {}", request.getUsername(), e);
                 throw new ProjectException(
@@ -438,10 +498,12 @@ public class ProjectService implements IProjectService {
     }
 
     private ProjectResponse mapToDetailedProjectResponse(Project project) {
+        prefetchUsers(List.of(project));
         return ProjectResponse.builder()
                 .projectId(project.getProjectId())
                 .title(project.getTitle())
                 .description(project.getDescription())
+                .version(project.getVersion())
                 .collaborators(mapCollaborators(project.getCollaborators()))
                 .createdAt(project.getCreatedAt().toString())
                 .updatedAt(project.getUpdatedAt().toString())
@@ -479,6 +541,7 @@ public class ProjectService implements IProjectService {
                 .noteId(note.getNoteId())
                 .title(note.getTitle())
                 .content(note.getContent())
+                .version(note.getVersion())
                 .createdAt(note.getCreatedAt().toString())
                 .updatedAt(note.getUpdatedAt().toString())
                 .createdBy(findUserByUsernameAndMap(note.getCreatedBy()))
@@ -502,6 +565,7 @@ public class ProjectService implements IProjectService {
                 .draftId(draft.getDraftId())
                 .title(draft.getTitle())
                 .content(draft.getContent())
+                .version(draft.getVersion())
                 .createdAt(draft.getCreatedAt().toString())
                 .updatedAt(draft.getUpdatedAt().toString())
                 .createdBy(findUserByUsernameAndMap(draft.getCreatedBy()))
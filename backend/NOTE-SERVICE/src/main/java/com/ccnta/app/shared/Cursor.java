@@ -0,0 +1,55 @@
+package com.ccnta.app.shared;
+
+import com.ccnta.app.exception.ProjectException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Keyset position for createdAt DESC, id DESC listings: the (createdAt, id) of the last row
+ * a client has seen. Clients only ever see it as an opaque base64url token.
+ * <p>
+ * createdAt is kept to the nanosecond, since PostgreSQL stores microseconds and a cursor
+ * truncated to milliseconds would skip rows created within the same millisecond.
+ */
+public record Cursor(Timestamp createdAt, long id) {
+
+    // later than any row, so the first page needs no separate query
+    private static final Cursor START = new Cursor(Timestamp.from(Instant.parse("9999-12-31T00:00:00Z")), Long.MAX_VALUE);
+
+    public static Cursor start() {
+        return START;
+    }
+
+    public static Cursor after(Date createdAt, Long id) {
+        return new Cursor(Timestamp.from(createdAt.toInstant()), id);
+    }
+
+    /**
+     * @param token token returned as {@code next} by a previous page, or null/blank for the first page
+     * @throws ProjectException if the token was not produced by {@link #encode()}
+     */
+    public static Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new Cursor(Timestamp.from(createdAt), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new ProjectException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        Instant instant = createdAt.toInstant();
+        String raw = instant.getEpochSecond() + ":" + instant.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.ccnta.app.shared;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page metadata for keyset listings. Replaces {@link Paging}'s totals, which need a COUNT,
+ * with the cursor of the next page.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPaging implements Serializable {
+
+    private int size;
+    private String next;
+    private boolean last;
+
+    /**
+     * Builds the paging for rows fetched with a limit of {@code size + 1}; the extra row only
+     * tells whether another page exists.
+     */
+    public static <E extends AbstractEntity> CursorPaging of(List<E> rows, int size, Function<E, Long> id) {
+        boolean last = rows.size() <= size;
+        List<E> page = trim(rows, size);
+        E tail = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return CursorPaging.builder()
+                .size(page.size())
+                .last(last)
+                .next(last || tail == null ? null : Cursor.after(tail.getCreatedAt(), id.apply(tail)).encode())
+                .build();
+    }
+
+    /**
+     * Clamps a requested page size into {@code [1, max]}, as the offset listings do.
+     */
+    public static int size(int requested, int max) {
+        return Math.max(1, Math.min(requested, max));
+    }
+
+    public static <E> List<E> trim(List<E> rows, int size) {
+        return rows.size() > size ? rows.subList(0, size) : rows;
+    }
+
+}
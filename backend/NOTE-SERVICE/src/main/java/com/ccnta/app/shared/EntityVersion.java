@@ -0,0 +1,24 @@
+package com.ccnta.app.shared;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Version columns of an entity and its images, read without loading either.
+ * Backs strong ETags: any write of the row ({@code @Version}), or an image added, changed or removed,
+ * changes {@link #eTag()}.
+ */
+public record EntityVersion(Long id, Long version, Date imagesUpdatedAt, Long images) {
+
+    public String eTag() {
+        String version = id + ":" + this.version + ":" + time(imagesUpdatedAt) + ":" + images;
+        return DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long time(Date date) {
+        return date != null ? date.getTime() : 0L;
+    }
+
+}
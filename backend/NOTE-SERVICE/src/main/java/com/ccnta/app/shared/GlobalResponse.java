@@ -4,6 +4,7 @@ import com.ccnta.app.project.model.ProjectResponse;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
+import java.io.Serializable;
 import java.util.List;
 
 @Data
@@ -12,7 +13,7 @@ import java.util.List;
 @NoArgsConstructor
 @ToString
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class GlobalResponse<T> {
+public class GlobalResponse<T> implements Serializable {
 
     private String message;
     private String status;
@@ -21,6 +22,7 @@ public class GlobalResponse<T> {
     private List<String> errors;
     private T data;
     private Paging page;
+    private CursorPaging cursor;
 
     public static <T> GlobalResponse<T> success(T data) {
         return GlobalResponse.<T>builder()
@@ -41,6 +43,16 @@ public class GlobalResponse<T> {
                 .build();
     }
 
+    public static <T> GlobalResponse<T> success(T data, CursorPaging cursor) {
+        return GlobalResponse.<T>builder()
+                .message("success")
+                .status("success")
+                .code("200")
+                .data(data)
+                .cursor(cursor)
+                .build();
+    }
+
     public static <T> GlobalResponse<T> success(String message, T data) {
         return GlobalResponse
                 .<T>builder()
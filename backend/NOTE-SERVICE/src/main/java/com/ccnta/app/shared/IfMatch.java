@@ -0,0 +1,56 @@
+package com.ccnta.app.shared;
+
+import com.ccnta.app.exception.VersionConflictException;
+
+import java.util.function.Supplier;
+
+/**
+ * The precondition of an {@code If-Match} header: either the ETag a GET of the resource returned,
+ * or its version as exposed by the {@code version} field of note, draft and project responses, e.g. {@code "3"}.
+ */
+public final class IfMatch {
+
+    private final String tag;
+
+    private IfMatch(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * @return the precondition, or null when the header is missing or {@code *} (no precondition)
+     */
+    public static IfMatch of(String header) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = header.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        return new IfMatch(tag.replace("\"", ""));
+    }
+
+    /**
+     * Fails with {@link VersionConflictException} when the client's tag is neither the loaded version
+     * nor the resource's current ETag, which is only looked up when the tag is not the version.
+     * The {@code @Version} column still catches writes that commit between this check and the flush.
+     */
+    public static void check(String resource, String id, IfMatch ifMatch, Versioned entity, Supplier<String> eTag) {
+        if (ifMatch == null || ifMatch.tag.equals(String.valueOf(entity.getVersion()))
+                || ifMatch.tag.equals(eTag.get())) {
+            return;
+        }
+        throw new VersionConflictException(resource, id, ifMatch.tag, entity.getVersion());
+    }
+
+    /**
+     * Fails with {@link VersionConflictException} when the client expected another version than the loaded one.
+     */
+    public static void check(String resource, String id, Long expectedVersion, Versioned entity) {
+        if (expectedVersion != null && !expectedVersion.equals(entity.getVersion())) {
+            throw new VersionConflictException(resource, id, String.valueOf(expectedVersion), entity.getVersion());
+        }
+    }
+
+}
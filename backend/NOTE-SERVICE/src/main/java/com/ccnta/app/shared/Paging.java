@@ -1,13 +1,19 @@
 package com.ccnta.app.shared;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.io.Serializable;
+
 @Getter
 @Setter
 @Builder
-public class Paging {
+@NoArgsConstructor
+@AllArgsConstructor
+public class Paging implements Serializable {
 
     private int page;
     private int size;
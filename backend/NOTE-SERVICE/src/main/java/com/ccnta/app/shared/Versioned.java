@@ -0,0 +1,10 @@
+package com.ccnta.app.shared;
+
+/**
+ * Entities guarded by optimistic locking through a {@code @Version} column.
+ */
+public interface Versioned {
+
+    Long getVersion();
+
+}
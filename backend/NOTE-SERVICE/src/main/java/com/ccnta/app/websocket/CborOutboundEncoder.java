@@ -0,0 +1,54 @@
+package com.ccnta.app.websocket;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Re-encodes the JSON payload of frames to {@link CborSessions CBOR sessions} on the client outbound
+ * channel, after {@link SessionOutboundQueues} released them, so presence diffs are coalesced as JSON.
+ * Everything up to here, including the cluster relay, only ever sees JSON.
+ */
+@Component
+public class CborOutboundEncoder implements ChannelInterceptor {
+
+    private final CborSessions cborSessions;
+    private final CborTranscoder transcoder;
+
+    public CborOutboundEncoder(CborSessions cborSessions, MeterRegistry meterRegistry) {
+        this.cborSessions = cborSessions;
+        this.transcoder = new CborTranscoder(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE
+                || !(message.getPayload() instanceof byte[] json)
+                || !isJson(headers.get(MessageHeaders.CONTENT_TYPE))
+                || !cborSessions.isCbor(SimpMessageHeaderAccessor.getSessionId(headers))) {
+            return message;
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        accessor.setContentType(CborSessions.APPLICATION_CBOR);
+        return MessageBuilder.createMessage(transcoder.transcode(json), accessor.getMessageHeaders());
+    }
+
+    private static boolean isJson(Object contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MimeType mimeType = contentType instanceof MimeType type ? type : MimeType.valueOf(contentType.toString());
+        return MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(mimeType);
+    }
+
+}
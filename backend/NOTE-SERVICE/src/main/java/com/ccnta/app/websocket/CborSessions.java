@@ -0,0 +1,126 @@
+package com.ccnta.app.websocket;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sessions that asked for CBOR payloads, with an {@code accept: application/cbor} header on CONNECT.
+ * <p>
+ * Their JSON payloads are re-encoded by {@link CborOutboundEncoder}, and every frame goes out as a
+ * binary WebSocket message: the STOMP handler would send a CBOR body as text. SockJS sessions carry
+ * text only, so they keep JSON whatever they ask for: binary clients connect to the plain
+ * {@code /stomp} endpoint rather than {@code /websocket}. Clients of either kind may send CBOR with
+ * {@code content-type: application/cbor}.
+ * <p>
+ * Exposes {@code websocket.cbor.sessions} through Micrometer.
+ */
+@Component
+public class CborSessions implements ChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    public static final MimeType APPLICATION_CBOR = new MimeType("application", "cbor");
+    private static final String ACCEPT_HEADER = "accept";
+
+    // sessions able to receive binary frames, by id
+    private final Map<String, BinarySession> sessions = new ConcurrentHashMap<>();
+
+    public CborSessions(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("websocket.cbor.sessions", sessions,
+                map -> map.values().stream().filter(session -> session.cbor).count());
+    }
+
+    public boolean isCbor(String sessionId) {
+        BinarySession session = sessionId != null ? sessions.get(sessionId) : null;
+        return session != null && session.cbor;
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                if (session instanceof SockJsSession) {
+                    super.afterConnectionEstablished(session);
+                    return;
+                }
+                BinarySession binary = new BinarySession(session);
+                sessions.put(session.getId(), binary);
+                super.afterConnectionEstablished(binary);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                try {
+                    super.afterConnectionClosed(session, closeStatus);
+                } finally {
+                    sessions.remove(session.getId());
+                }
+            }
+        };
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+        BinarySession session = sessions.get(accessor.getSessionId());
+        String accept = accessor.getFirstNativeHeader(ACCEPT_HEADER);
+        if (session != null && accept != null) {
+            session.cbor = accepts(accept);
+        }
+        return message;
+    }
+
+    private static boolean accepts(String accept) {
+        try {
+            return MimeTypeUtils.parseMimeTypes(accept).stream()
+                    .anyMatch(mimeType -> mimeType.equalsTypeAndSubtype(APPLICATION_CBOR));
+        } catch (InvalidMimeTypeException e) {
+            return false;
+        }
+    }
+
+    private static final class BinarySession extends WebSocketSessionDecorator {
+
+        private volatile boolean cbor;
+
+        private BinarySession(WebSocketSession session) {
+            super(session);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            // the STOMP handler only sends octet-stream bodies as binary, the frame's bytes are kept as they were
+            if (cbor && message instanceof TextMessage text) {
+                super.sendMessage(new BinaryMessage(text.asBytes()));
+            } else {
+                super.sendMessage(message);
+            }
+        }
+    }
+
+}
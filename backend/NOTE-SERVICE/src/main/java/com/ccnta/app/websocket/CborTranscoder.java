@@ -0,0 +1,62 @@
+package com.ccnta.app.websocket;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * Re-encodes JSON payloads as CBOR, token by token, without binding them to objects.
+ * <p>
+ * A CBOR frame therefore costs a JSON serialization and a transcode, more CPU than JSON alone; it is
+ * kept so that coalescing and the cluster relay only ever deal with JSON, and paid for less bandwidth.
+ * <p>
+ * The broker hands every subscriber of a destination the same payload array, so results are kept
+ * per array (by identity, weakly): a frame is transcoded once however many CBOR sessions receive it.
+ * <p>
+ * Exposes {@code websocket.cbor.bytes} (tagged {@code encoding=json|cbor}), the size of each payload
+ * before and after, through Micrometer.
+ */
+class CborTranscoder {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final CBORFactory cborFactory = new CBORFactory();
+    // byte[] has identity equality, so entries match the very array the broker shares
+    private final Map<byte[], byte[]> transcoded = new ConcurrentReferenceHashMap<>(256,
+            ConcurrentReferenceHashMap.ReferenceType.WEAK);
+    private final DistributionSummary jsonBytes;
+    private final DistributionSummary cborBytes;
+
+    CborTranscoder(MeterRegistry meterRegistry) {
+        this.jsonBytes = meterRegistry.summary("websocket.cbor.bytes", "encoding", "json");
+        this.cborBytes = meterRegistry.summary("websocket.cbor.bytes", "encoding", "cbor");
+    }
+
+    byte[] transcode(byte[] json) {
+        return transcoded.computeIfAbsent(json, this::encode);
+    }
+
+    private byte[] encode(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = jsonFactory.createParser(json);
+             JsonGenerator generator = cborFactory.createGenerator(out)) {
+            if (parser.nextToken() != null) {
+                generator.copyCurrentStructure(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        jsonBytes.record(json.length);
+        cborBytes.record(out.size());
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.ccnta.app.websocket;
+
+import com.hazelcast.cluster.MembershipAdapter;
+import com.hazelcast.cluster.MembershipEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.multimap.MultiMap;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Which nodes have STOMP sessions of which users, in the {@code stomp-users} Hazelcast multimap.
+ * <p>
+ * A node registers a user with its first session and unregisters them with their last, so the map
+ * changes on connects and disconnects only, not per message. Looking a user up is one call to the
+ * partition that owns them. Entries of a node that left the cluster are removed by the owners of
+ * their partitions.
+ * <p>
+ * Exposes {@code stomp.users.local} through Micrometer.
+ */
+@Component
+@Slf4j
+public class ClusterUserRegistry {
+
+    private static final String MAP = "stomp-users";
+
+    private final HazelcastInstance hazelcastInstance;
+    private final MultiMap<String, UUID> members;
+    // sessions of each user connected to this node
+    private final Map<String, Integer> localUsers = new ConcurrentHashMap<>();
+    private final Map<String, String> sessionUsers = new ConcurrentHashMap<>();
+
+    public ClusterUserRegistry(HazelcastInstance hazelcastInstance, MeterRegistry meterRegistry) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.members = hazelcastInstance.getMultiMap(MAP);
+        meterRegistry.gaugeMapSize("stomp.users.local", Tags.empty(), localUsers);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        hazelcastInstance.getCluster().addMembershipListener(new MembershipAdapter() {
+            @Override
+            public void memberRemoved(MembershipEvent event) {
+                UUID member = event.getMember().getUuid();
+                members.localKeySet().forEach(username -> members.remove(username, member));
+            }
+        });
+    }
+
+    /**
+     * @return the nodes other than this one with sessions of the user
+     */
+    public Collection<UUID> remoteMembers(String username) {
+        UUID local = localMember();
+        return members.get(username).stream()
+                .filter(member -> !member.equals(local))
+                .toList();
+    }
+
+    public UUID localMember() {
+        return hazelcastInstance.getCluster().getLocalMember().getUuid();
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        Principal user = event.getUser();
+        String sessionId = (String) event.getMessage().getHeaders().get("simpSessionId");
+        if (user == null || sessionId == null || sessionUsers.putIfAbsent(sessionId, user.getName()) != null) {
+            return;
+        }
+        // the map is updated under the user's entry, so a connect and a disconnect never reorder
+        localUsers.compute(user.getName(), (username, sessions) -> {
+            if (sessions == null) {
+                register(username);
+                return 1;
+            }
+            return sessions + 1;
+        });
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        String username = sessionUsers.remove(event.getSessionId());
+        if (username == null) {
+            return;
+        }
+        localUsers.computeIfPresent(username, (name, sessions) -> {
+            if (sessions > 1) {
+                return sessions - 1;
+            }
+            unregister(name);
+            return null;
+        });
+    }
+
+    private void register(String username) {
+        try {
+            members.put(username, localMember());
+        } catch (Exception e) {
+            log.warn("Failed to register STOMP user {} in the cluster: {}", username, e.getMessage());
+        }
+    }
+
+    private void unregister(String username) {
+        try {
+            members.remove(username, localMember());
+        } catch (Exception e) {
+            log.warn("Failed to unregister STOMP user {} from the cluster: {}", username, e.getMessage());
+        }
+    }
+
+}
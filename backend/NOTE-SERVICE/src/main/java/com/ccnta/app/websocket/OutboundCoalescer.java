@@ -0,0 +1,18 @@
+package com.ccnta.app.websocket;
+
+import org.springframework.messaging.Message;
+
+/**
+ * Merges frames to a destination whose latest state is all a client needs, so a session that
+ * cannot keep up receives one frame per destination instead of a backlog.
+ */
+public interface OutboundCoalescer {
+
+    boolean supports(String destination);
+
+    /**
+     * @return a frame with the effect of {@code queued} followed by {@code newer}, sent in place of {@code queued}
+     */
+    Message<?> merge(Message<?> queued, Message<?> newer);
+
+}
@@ -0,0 +1,9 @@
+package com.ccnta.app.websocket;
+
+import java.io.Serializable;
+
+/**
+ * A message sent to the broker of one node, carried to the broker of another node as it was serialized.
+ */
+public record RelayedMessage(String destination, String contentType, byte[] payload) implements Serializable {
+}
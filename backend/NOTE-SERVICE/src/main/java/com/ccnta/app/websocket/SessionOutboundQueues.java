@@ -0,0 +1,284 @@
+package com.ccnta.app.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, ordered queue of outbound frames per WebSocket session, on the client outbound channel.
+ * <p>
+ * A session has at most one frame on the channel's executor at a time; the next is released when
+ * it was written, or as soon as it is known that it will not be: when a later interceptor rejected
+ * it or the executor did not take it. A slow browser tab therefore holds one outbound thread at most,
+ * and its backlog waits in its own queue instead of the executor's. When the queue is full, what
+ * happens to a new frame depends on its destination:
+ * <ul>
+ *     <li>coalesced, for destinations an {@link OutboundCoalescer} supports (presence): merged into
+ *     the frame already waiting for the same subscription, whether the queue is full or not. With no
+ *     such frame it is queued past the capacity: there is at most one per subscription, since the
+ *     next ones are merged into it, and the diff must not be lost as later ones build on it;</li>
+ *     <li>dropped, for notifications: they are stored and listed over REST, the live push is a convenience;</li>
+ *     <li>otherwise the session is closed, e.g. for collaborative operations that must not be lost;
+ *     the client reconnects and catches up from its revision.</li>
+ * </ul>
+ * A session whose frame has been on the wire for longer than the send time limit is closed as well.
+ * <p>
+ * Exposes {@code websocket.outbound.queued}, {@code websocket.outbound.depth} (the depth of the session's
+ * queue at every frame it had to queue), and {@code websocket.outbound.frames} (tagged
+ * {@code outcome=coalesced|dropped}) and {@code websocket.outbound.closed} through Micrometer; per-session
+ * figures are logged when a session that lost frames ends.
+ */
+@Component
+@Slf4j
+public class SessionOutboundQueues implements ExecutorChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    private static final PathMatcher MATCHER = new AntPathMatcher();
+    // stored by NotificationService, clients list what they missed
+    private static final List<String> DROPPABLE = List.of(
+            "/user/*/queue/messages", "/user/*/queue/notifications", "/broadcast/messages");
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, SessionQueue> queues = new ConcurrentHashMap<>();
+    // the frame this thread releases to the channel, which must pass through
+    private final ThreadLocal<Message<?>> releasing = new ThreadLocal<>();
+    // the queue whose slot this thread's send took in preSend, until afterSendCompletion
+    private final ThreadLocal<SessionQueue> started = new ThreadLocal<>();
+
+    private final List<OutboundCoalescer> coalescers;
+    private final DistributionSummary depth;
+    private final Counter coalesced;
+    private final Counter dropped;
+    private final Counter closed;
+
+    @Value("${application.websocket.outbound-queue-capacity:100}")
+    private int capacity;
+
+    @Value("${application.websocket.send-time-limit-ms:10000}")
+    private long sendTimeLimitMillis;
+
+    public SessionOutboundQueues(List<OutboundCoalescer> coalescers, MeterRegistry meterRegistry) {
+        this.coalescers = coalescers;
+        this.depth = meterRegistry.summary("websocket.outbound.depth");
+        this.coalesced = meterRegistry.counter("websocket.outbound.frames", "outcome", "coalesced");
+        this.dropped = meterRegistry.counter("websocket.outbound.frames", "outcome", "dropped");
+        this.closed = meterRegistry.counter("websocket.outbound.closed");
+        meterRegistry.gauge("websocket.outbound.queued", queues,
+                map -> map.values().stream().mapToInt(SessionQueue::size).sum());
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessions.put(session.getId(), session);
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                try {
+                    super.afterConnectionClosed(session, closeStatus);
+                } finally {
+                    sessions.remove(session.getId());
+                    SessionQueue queue = queues.remove(session.getId());
+                    if (queue != null && (queue.dropped > 0 || queue.coalesced > 0)) {
+                        log.info("Session {} ended having dropped {} and coalesced {} frames, max queue depth {}",
+                                session.getId(), queue.dropped, queue.coalesced, queue.maxDepth);
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (releasing.get() == message) {
+            return message;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null || !sessions.containsKey(sessionId)) {
+            return message;
+        }
+
+        SessionQueue queue = queues.computeIfAbsent(sessionId, id -> new SessionQueue());
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        OutboundCoalescer coalescer = destination != null ? coalescer(destination) : null;
+        synchronized (queue) {
+            if (queue.inFlight && System.currentTimeMillis() - queue.sendingSince > sendTimeLimitMillis) {
+                return close(sessionId, queue, "send time limit exceeded");
+            }
+            if (!queue.inFlight) {
+                // nothing ahead of it, straight to the executor
+                queue.startSending();
+                started.set(queue);
+                return message;
+            }
+            if (coalescer != null && coalesce(queue, coalescer, message)) {
+                return null;
+            }
+            // a presence frame nothing was waiting to absorb goes past the capacity, see above
+            if (queue.pending.size() >= capacity && coalescer == null) {
+                if (isDroppable(destination)) {
+                    queue.dropped++;
+                    dropped.increment();
+                    return null;
+                }
+                return close(sessionId, queue, "outbound queue full");
+            }
+            queue.pending.add(message);
+            queue.maxDepth = Math.max(queue.maxDepth, queue.pending.size());
+            depth.record(queue.pending.size());
+            return null;
+        }
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        SessionQueue queue = started.get();
+        started.remove();
+        // once sent, the frame is on the executor and afterMessageHandled releases the slot,
+        // even when a later interceptor's postSend failed
+        if (queue == null || sent) {
+            return;
+        }
+        if (ex != null) {
+            log.warn("Frame to session {} was not sent: {}",
+                    SimpMessageHeaderAccessor.getSessionId(message.getHeaders()), ex.getMessage());
+        }
+        releaseNext(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()), queue, channel);
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        SessionQueue queue = sessionId != null ? queues.get(sessionId) : null;
+        if (queue != null) {
+            // a session has one frame on the executor at a time, so this is the one that was in flight
+            releaseNext(sessionId, queue, channel);
+        }
+    }
+
+    /**
+     * Frees the session's slot and sends its next queued frame, or the one after when that one
+     * was not sent either.
+     */
+    private void releaseNext(String sessionId, SessionQueue queue, MessageChannel channel) {
+        while (true) {
+            Message<?> next;
+            synchronized (queue) {
+                next = queue.pending.poll();
+                if (next == null) {
+                    queue.inFlight = false;
+                    return;
+                }
+                queue.startSending();
+            }
+
+            releasing.set(next);
+            try {
+                if (channel.send(next)) {
+                    return;
+                }
+            } catch (Exception e) {
+                // e.g. it could not be encoded, the frames behind it are still sent
+                log.warn("Frame to session {} was not sent: {}", sessionId, e.getMessage());
+            } finally {
+                releasing.remove();
+            }
+        }
+    }
+
+    private boolean coalesce(SessionQueue queue, OutboundCoalescer coalescer, Message<?> message) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders());
+        ListIterator<Message<?>> pending = queue.pending.listIterator();
+        while (pending.hasNext()) {
+            Message<?> queued = pending.next();
+            if (destination.equals(SimpMessageHeaderAccessor.getDestination(queued.getHeaders()))
+                    && Objects.equals(subscriptionId, SimpMessageHeaderAccessor.getSubscriptionId(queued.getHeaders()))) {
+                try {
+                    pending.set(coalescer.merge(queued, message));
+                } catch (Exception e) {
+                    log.warn("Failed to coalesce frames to {}: {}", destination, e.getMessage());
+                    return false;
+                }
+                queue.coalesced++;
+                coalesced.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Message<?> close(String sessionId, SessionQueue queue, String reason) {
+        queue.pending.clear();
+        closed.increment();
+        WebSocketSession session = sessions.get(sessionId);
+        if (session != null) {
+            log.warn("Closing slow WebSocket session {}: {}", sessionId, reason);
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                log.warn("Failed to close WebSocket session {}: {}", sessionId, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private OutboundCoalescer coalescer(String destination) {
+        for (OutboundCoalescer coalescer : coalescers) {
+            if (coalescer.supports(destination)) {
+                return coalescer;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isDroppable(String destination) {
+        return destination != null && DROPPABLE.stream().anyMatch(pattern -> MATCHER.match(pattern, destination));
+    }
+
+    private static final class SessionQueue {
+
+        private final LinkedList<Message<?>> pending = new LinkedList<>();
+        private boolean inFlight;
+        private long sendingSince;
+        private long dropped;
+        private long coalesced;
+        private int maxDepth;
+
+        private void startSending() {
+            inFlight = true;
+            sendingSince = System.currentTimeMillis();
+        }
+
+        private synchronized int size() {
+            return pending.size();
+        }
+    }
+
+}
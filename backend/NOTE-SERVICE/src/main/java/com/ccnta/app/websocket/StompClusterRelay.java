@@ -0,0 +1,172 @@
+package com.ccnta.app.websocket;
+
+import com.ccnta.app.collaboration.service.CollaborationService;
+import com.ccnta.app.presence.service.PresenceService;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bridges the in-memory brokers of the nodes over Hazelcast topics, so a message sent on one node
+ * reaches subscribers on any node.
+ * <p>
+ * Registered on the broker channel, it sees every message sent to the local broker and forwards a copy:
+ * <ul>
+ *     <li>{@code /user/{username}/...} to the nodes the {@link ClusterUserRegistry} has sessions of the
+ *     user on, each through its own topic: one hop, and nodes without the user never see it;</li>
+ *     <li>{@code /broadcast/...} to every node through a shared topic, except for collaboration and
+ *     presence, which keep per-node state and replicate it themselves.</li>
+ * </ul>
+ * The receiving node sends the copy to its own broker, marked so it is not forwarded again.
+ * <p>
+ * Exposes {@code stomp.relay.messages} (tagged {@code direction=out|in}, {@code scope=user|broadcast})
+ * through Micrometer.
+ */
+@Component
+@Slf4j
+public class StompClusterRelay implements ChannelInterceptor {
+
+    private static final String USER_PREFIX = "/user/";
+    private static final String BROADCAST_PREFIX = "/broadcast/";
+    private static final String MEMBER_TOPIC = "stomp-relay-";
+    private static final String BROADCAST_TOPIC = "stomp-relay-broadcast";
+    private static final String RELAYED_HEADER = "clusterRelayed";
+    // sent by every node from its own state, relaying them would deliver each message twice
+    private static final List<String> NODE_LOCAL = List.of(CollaborationService.TOPIC, PresenceService.TOPIC);
+
+    // the template sends through the broker channel this interceptor is registered on, so it is resolved on first use
+    private final ObjectProvider<SimpMessagingTemplate> messagingTemplate;
+    private final ClusterUserRegistry userRegistry;
+    private final HazelcastInstance hazelcastInstance;
+    private final ITopic<RelayedMessage> broadcastTopic;
+    private final Counter userOut;
+    private final Counter broadcastOut;
+    private final Counter userIn;
+    private final Counter broadcastIn;
+
+    public StompClusterRelay(ObjectProvider<SimpMessagingTemplate> messagingTemplate, ClusterUserRegistry userRegistry,
+                             HazelcastInstance hazelcastInstance, MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.hazelcastInstance = hazelcastInstance;
+        this.broadcastTopic = hazelcastInstance.getTopic(BROADCAST_TOPIC);
+        this.userOut = meterRegistry.counter("stomp.relay.messages", "direction", "out", "scope", "user");
+        this.broadcastOut = meterRegistry.counter("stomp.relay.messages", "direction", "out", "scope", "broadcast");
+        this.userIn = meterRegistry.counter("stomp.relay.messages", "direction", "in", "scope", "user");
+        this.broadcastIn = meterRegistry.counter("stomp.relay.messages", "direction", "in", "scope", "broadcast");
+    }
+
+    @PostConstruct
+    void subscribe() {
+        memberTopic(userRegistry.localMember()).addMessageListener(message -> {
+            userIn.increment();
+            deliver(message.getMessageObject());
+        });
+        broadcastTopic.addMessageListener(message -> {
+            if (message.getPublishingMember().localMember()) {
+                return;
+            }
+            broadcastIn.increment();
+            deliver(message.getMessageObject());
+        });
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE
+                || headers.containsKey(RELAYED_HEADER)) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        if (destination == null) {
+            return message;
+        }
+
+        try {
+            if (destination.startsWith(USER_PREFIX)) {
+                relayToUser(destination, message);
+            } else if (destination.startsWith(BROADCAST_PREFIX) && NODE_LOCAL.stream().noneMatch(destination::startsWith)) {
+                RelayedMessage relayed = relayed(destination, message);
+                if (relayed != null) {
+                    broadcastTopic.publish(relayed);
+                    broadcastOut.increment();
+                }
+            }
+        } catch (Exception e) {
+            // local subscribers still get it, only the other nodes miss it
+            log.warn("Failed to relay message to {} across the cluster: {}", destination, e.getMessage());
+        }
+        return message;
+    }
+
+    private void relayToUser(String destination, Message<?> message) {
+        int end = destination.indexOf('/', USER_PREFIX.length());
+        if (end < 0) {
+            return;
+        }
+        Collection<UUID> members = userRegistry.remoteMembers(destination.substring(USER_PREFIX.length(), end));
+        if (members.isEmpty()) {
+            return;
+        }
+        RelayedMessage relayed = relayed(destination, message);
+        if (relayed == null) {
+            return;
+        }
+        for (UUID member : members) {
+            memberTopic(member).publish(relayed);
+            userOut.increment();
+        }
+    }
+
+    private void deliver(RelayedMessage relayed) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(relayed.destination());
+        if (relayed.contentType() != null) {
+            accessor.setContentType(MimeType.valueOf(relayed.contentType()));
+        }
+        accessor.setHeader(RELAYED_HEADER, Boolean.TRUE);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.getObject().send(relayed.destination(),
+                MessageBuilder.createMessage(relayed.payload(), accessor.getMessageHeaders()));
+    }
+
+    private ITopic<RelayedMessage> memberTopic(UUID member) {
+        return hazelcastInstance.getTopic(MEMBER_TOPIC + member);
+    }
+
+    private static RelayedMessage relayed(String destination, Message<?> message) {
+        byte[] payload;
+        if (message.getPayload() instanceof byte[] bytes) {
+            payload = bytes;
+        } else if (message.getPayload() instanceof String text) {
+            payload = text.getBytes(StandardCharsets.UTF_8);
+        } else {
+            log.warn("Not relaying message to {} with an unserialized {} payload", destination,
+                    message.getPayload().getClass().getSimpleName());
+            return null;
+        }
+        Object contentType = message.getHeaders().get(MessageHeaders.CONTENT_TYPE);
+        return new RelayedMessage(destination, contentType != null ? contentType.toString() : null, payload);
+    }
+
+}
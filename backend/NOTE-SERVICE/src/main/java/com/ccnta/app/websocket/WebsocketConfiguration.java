@@ -1,23 +1,86 @@
 package com.ccnta.app.websocket;
 
+import com.ccnta.app.collaboration.resource.CollaborationSubscriptionInterceptor;
+import com.ccnta.app.presence.resource.PresenceSubscriptionInterceptor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.converter.*;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebsocketConfiguration implements WebSocketMessageBrokerConfigurer {
 
+    private final CollaborationSubscriptionInterceptor collaborationSubscriptionInterceptor;
+    private final PresenceSubscriptionInterceptor presenceSubscriptionInterceptor;
+    private final StompClusterRelay stompClusterRelay;
+    private final SessionOutboundQueues sessionOutboundQueues;
+    private final CborSessions cborSessions;
+    private final CborOutboundEncoder cborOutboundEncoder;
+
+    @Value("${application.websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMillis;
+
+    @Value("${application.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${application.websocket.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+
+    @Value("${application.websocket.inbound.max-pool-size:16}")
+    private int inboundMaxPoolSize;
+
+    @Value("${application.websocket.inbound.queue-capacity:1000}")
+    private int inboundQueueCapacity;
+
+    @Value("${application.websocket.outbound.pool-size:16}")
+    private int outboundPoolSize;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.enableSimpleBroker("/broadcast", "/user");
         registry.setApplicationDestinationPrefixes("/ccnta");
+        // copies what is sent to this node's broker to the nodes with subscribers for it
+        registry.configureBrokerChannel().interceptors(stompClusterRelay);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(cborSessions, collaborationSubscriptionInterceptor, presenceSubscriptionInterceptor);
+        registration.taskExecutor()
+                .corePoolSize(inboundCorePoolSize)
+                .maxPoolSize(inboundMaxPoolSize)
+                .queueCapacity(inboundQueueCapacity);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // keeps each session's frames in order, collaborative operations must arrive in revision order;
+        // the executor queue holds at most one frame per session, so it is left unbounded
+        registration.interceptors(sessionOutboundQueues, cborOutboundEncoder);
+        registration.taskExecutor()
+                .corePoolSize(outboundPoolSize)
+                .maxPoolSize(outboundPoolSize);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMillis)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .addDecoratorFactory(sessionOutboundQueues)
+                .addDecoratorFactory(cborSessions);
     }
 
     @Override
@@ -25,6 +88,9 @@ public class WebsocketConfiguration implements WebSocketMessageBrokerConfigurer
         registry.addEndpoint("/websocket")
                 .setAllowedOrigins("http://localhost:4200")
                 .withSockJS();
+        // plain WebSocket, for clients that negotiate CBOR: SockJS only carries text
+        registry.addEndpoint("/stomp")
+                .setAllowedOrigins("http://localhost:4200");
     }
 
     @Override
@@ -33,10 +99,17 @@ public class WebsocketConfiguration implements WebSocketMessageBrokerConfigurer
         resolver.setDefaultMimeType(MimeTypeUtils.APPLICATION_JSON);
         MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
         converter.setContentTypeResolver(resolver);
+        // reads what clients send with content-type application/cbor; replies are sent as JSON and
+        // re-encoded per session by CborOutboundEncoder
+        MappingJackson2MessageConverter cborConverter = new MappingJackson2MessageConverter(CborSessions.APPLICATION_CBOR);
+        cborConverter.setObjectMapper(CBORMapper.builder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .findAndAddModules()
+                .build());
         messageConverters.add(new StringMessageConverter());
         messageConverters.add(new ByteArrayMessageConverter());
-        messageConverters.add(new ByteArrayMessageConverter());
         messageConverters.add(converter);
+        messageConverters.add(cborConverter);
         return false;
     }
 }
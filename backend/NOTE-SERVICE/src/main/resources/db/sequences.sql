@@ -0,0 +1,16 @@
+-- Entity ids use Hibernate's pooled optimizer with allocationSize = 50, which requires the
+-- database sequences to advance by the same amount. Runs before Hibernate starts on every boot,
+-- so it has to stay idempotent; on a fresh database the sequences do not exist yet and
+-- Hibernate creates them with the right increment.
+--
+-- Safe for existing rows: the pooled optimizer treats the value it reads as the upper bound of
+-- its block, so the first block after this change starts right after the last issued id.
+ALTER SEQUENCE IF EXISTS _project_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS _note_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS _draft_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS _image_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS _comment_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS _reply_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS _notification_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS _audit_log_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS _collaborator_id_seq INCREMENT BY 50;
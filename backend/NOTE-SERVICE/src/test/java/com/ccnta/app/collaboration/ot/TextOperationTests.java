@@ -0,0 +1,128 @@
+package com.ccnta.app.collaboration.ot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Applying, diffing and transforming operations, including convergence: for concurrent {@code a} and
+ * {@code b}, {@code b'(a(doc)) == a'(b(doc))}.
+ */
+class TextOperationTests {
+
+    private static final String ALPHABET = "abcdefgh ";
+
+    @Test
+    void appliesRetainInsertAndDelete() {
+        TextOperation operation = TextOperation.of(List.of(2, "XY", -1, 2));
+
+        assertThat(operation.apply("abcde")).isEqualTo("abXYde");
+        assertThat(operation.getBaseLength()).isEqualTo(5);
+        assertThat(operation.getTargetLength()).isEqualTo(6);
+    }
+
+    @Test
+    void rejectsDocumentOfAnotherLength() {
+        TextOperation operation = TextOperation.of(List.of(2, "XY", -1, 2));
+
+        assertThatIllegalArgumentException().isThrownBy(() -> operation.apply("abcdef"));
+    }
+
+    @Test
+    void keepsInsertBeforeAdjacentDelete() {
+        TextOperation insertFirst = new TextOperation().retain(1).insert("x").delete(1);
+        TextOperation deleteFirst = new TextOperation().retain(1).delete(1).insert("x");
+
+        assertThat(deleteFirst).isEqualTo(insertFirst);
+        assertThat(deleteFirst.components()).containsExactly(1, "x", -1);
+    }
+
+    @Test
+    void diffsBetweenCommonPrefixAndSuffix() {
+        TextOperation diff = TextOperation.diff("hello world", "hello brave world");
+
+        assertThat(diff.components()).containsExactly(6, "brave ", 5);
+        assertThat(diff.apply("hello world")).isEqualTo("hello brave world");
+        assertThat(TextOperation.diff("same", "same").isNoop()).isTrue();
+    }
+
+    @Test
+    void transformPutsFirstInsertFirstAtSamePosition() {
+        TextOperation a = TextOperation.of(List.of(2, "A", 1));
+        TextOperation b = TextOperation.of(List.of(2, "B", 1));
+
+        TextOperation[] transformed = TextOperation.transform(a, b);
+
+        assertThat(transformed[1].apply(a.apply("abc"))).isEqualTo("abABc");
+        assertThat(transformed[0].apply(b.apply("abc"))).isEqualTo("abABc");
+    }
+
+    @Test
+    void transformDropsDeletesBothMade() {
+        TextOperation a = TextOperation.of(List.of(1, -2, 1));
+        TextOperation b = TextOperation.of(List.of(2, -2));
+
+        TextOperation[] transformed = TextOperation.transform(a, b);
+
+        assertThat(transformed[1].apply(a.apply("abcd"))).isEqualTo("a");
+        assertThat(transformed[0].apply(b.apply("abcd"))).isEqualTo("a");
+    }
+
+    @Test
+    void concurrentOperationsConverge() {
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            String document = randomText(random, random.nextInt(20));
+            TextOperation a = randomOperation(random, document);
+            TextOperation b = randomOperation(random, document);
+
+            TextOperation[] transformed = TextOperation.transform(a, b);
+
+            assertThat(transformed[1].apply(a.apply(document)))
+                    .as("a=%s b=%s on '%s'", a, b, document)
+                    .isEqualTo(transformed[0].apply(b.apply(document)));
+        }
+    }
+
+    @Test
+    void rejectsOperationsOnDifferentDocuments() {
+        TextOperation a = TextOperation.of(List.of(3));
+        TextOperation b = TextOperation.of(List.of(4));
+
+        assertThatIllegalArgumentException().isThrownBy(() -> TextOperation.transform(a, b));
+    }
+
+    private static TextOperation randomOperation(Random random, String document) {
+        TextOperation operation = new TextOperation();
+        int index = 0;
+        while (index < document.length()) {
+            int count = 1 + random.nextInt(document.length() - index);
+            switch (random.nextInt(3)) {
+                case 0 -> operation.retain(count);
+                case 1 -> operation.delete(count);
+                default -> {
+                    operation.insert(randomText(random, 1 + random.nextInt(3)));
+                    continue;
+                }
+            }
+            index += count;
+        }
+        if (random.nextBoolean()) {
+            operation.insert(randomText(random, 1 + random.nextInt(3)));
+        }
+        return operation;
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+
+}
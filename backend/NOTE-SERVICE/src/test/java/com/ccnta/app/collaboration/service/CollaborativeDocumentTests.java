@@ -0,0 +1,73 @@
+package com.ccnta.app.collaboration.service;
+
+import com.ccnta.app.collaboration.ot.TextOperation;
+import com.ccnta.app.exception.ProjectException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Operations sent against an older revision are rebased over what was applied since.
+ */
+class CollaborativeDocumentTests {
+
+    private static final int MAX_LENGTH = 1000;
+
+    @Test
+    void rebasesOperationMadeAgainstStaleRevision() {
+        CollaborativeDocument document = document("hello");
+        document.apply(0, TextOperation.of(List.of(5, " world")), "alice", MAX_LENGTH);
+
+        // bob had not seen alice's edit yet
+        TextOperation applied = document.apply(0, TextOperation.of(List.of("Oh, ", 5)), "bob", MAX_LENGTH);
+
+        assertThat(applied.components()).containsExactly("Oh, ", 11);
+        assertThat(document.snapshot()).isEqualTo(new CollaborativeDocument.Snapshot("Oh, hello world", 2));
+        assertThat(document.since(0)).extracting(CollaborativeDocument.Entry::username).containsExactly("alice", "bob");
+    }
+
+    @Test
+    void rebasesOverSeveralOperations() {
+        CollaborativeDocument document = document("abc");
+        document.apply(0, TextOperation.of(List.of("1", 3)), "alice", MAX_LENGTH);
+        document.apply(1, TextOperation.of(List.of(4, "2")), "alice", MAX_LENGTH);
+
+        // deletes "b" of the revision it was made against
+        document.apply(0, TextOperation.of(List.of(1, -1, 1)), "bob", MAX_LENGTH);
+
+        assertThat(document.snapshot().content()).isEqualTo("1ac2");
+        assertThat(document.revision()).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsRevisionNoLongerKept() {
+        CollaborativeDocument document = document("abc");
+        document.apply(0, TextOperation.of(List.of(3, "d")), "alice", MAX_LENGTH);
+        document.apply(1, TextOperation.of(List.of(4, "e")), "alice", MAX_LENGTH);
+        document.logged(2, 2);
+        document.checkpointed(document.snapshot(), 2L, 0);
+
+        assertThatThrownBy(() -> document.apply(1, TextOperation.of(List.of(4, "x")), "bob", MAX_LENGTH))
+                .isInstanceOfSatisfying(ProjectException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @Test
+    void rejectsOperationNotFittingItsRevision() {
+        CollaborativeDocument document = document("abc");
+
+        assertThatThrownBy(() -> document.apply(0, TextOperation.of(List.of(5, "x")), "bob", MAX_LENGTH))
+                .isInstanceOfSatisfying(ProjectException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThat(document.revision()).isZero();
+    }
+
+    private static CollaborativeDocument document(String content) {
+        return new CollaborativeDocument("note-1", "project-1", content, 0, List.of(), 0, 1L);
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.ccnta.app.configuration.cache;
+
+import com.ccnta.app.collaborator.model.CollaboratorResponse;
+import com.ccnta.app.draft.model.DraftResponse;
+import com.ccnta.app.media.model.ImageResponse;
+import com.ccnta.app.note.model.NoteResponse;
+import com.ccnta.app.project.model.ProjectResponse;
+import com.ccnta.app.shared.GlobalResponse;
+import com.ccnta.app.shared.Paging;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Round trips of the L2 codec, and its size against Hazelcast's default (Java) serialization for a
+ * cached page of projects.
+ */
+class JsonCacheCodecTests {
+
+    private static final int PROJECTS = 20;
+    private static final int NOTES_PER_PROJECT = 5;
+
+    private final JsonCacheCodec codec = new JsonCacheCodec(Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    void roundTripsCachedPage() {
+        GlobalResponse<List<ProjectResponse>> page = page();
+
+        Object decoded = codec.decode(codec.encode(page));
+
+        assertThat(decoded).isInstanceOf(GlobalResponse.class);
+        GlobalResponse<?> response = (GlobalResponse<?>) decoded;
+        assertThat(response.getPage().getTotalElement()).isEqualTo(PROJECTS);
+        assertThat((List<?>) response.getData()).hasSize(PROJECTS);
+        ProjectResponse project = (ProjectResponse) ((List<?>) response.getData()).get(0);
+        assertThat(project.getNotes()).hasSize(NOTES_PER_PROJECT);
+        assertThat(project.getCreatedBy().getUsername()).isEqualTo("owner-0");
+    }
+
+    @Test
+    void keepsNativeValuesAsIs() {
+        assertThat(codec.encode(42L)).isEqualTo(42L);
+        assertThat(codec.decode(codec.encode(42L))).isInstanceOf(Long.class);
+        assertThat(codec.encode("generation")).isEqualTo("generation");
+    }
+
+    @Test
+    void encodesSmallerThanDefaultSerialization() throws IOException {
+        GlobalResponse<List<ProjectResponse>> page = page();
+
+        int javaBytes = javaSerializedSize(page);
+        int encodedBytes = ((byte[]) codec.encode(page)).length;
+
+        assertThat(encodedBytes).isLessThan(javaBytes);
+    }
+
+    @Test
+    void readsJsonTextOfPreviousVersion() {
+        byte[] json = "{\"@class\":\"com.ccnta.app.shared.GlobalResponse\",\"status\":\"success\",\"code\":\"200\"}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertThat(codec.decode(json)).isInstanceOfSatisfying(GlobalResponse.class,
+                response -> assertThat(response.getStatus()).isEqualTo("success"));
+    }
+
+    private static int javaSerializedSize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.size();
+    }
+
+    private static GlobalResponse<List<ProjectResponse>> page() {
+        List<ProjectResponse> projects = new ArrayList<>();
+        for (int p = 0; p < PROJECTS; p++) {
+            int i = p;
+            CollaboratorResponse owner = user("owner-" + i);
+            projects.add(ProjectResponse.builder()
+                    .projectId("project-" + i)
+                    .title("Project " + i)
+                    .description("Planning notes for project " + i)
+                    .createdAt("2024-11-02T10:15:30")
+                    .updatedAt("2024-11-03T08:00:00")
+                    .createdBy(owner)
+                    .updatedBy(owner)
+                    .collaborators(Set.of(user("collaborator-" + i)))
+                    .notes(IntStream.range(0, NOTES_PER_PROJECT).mapToObj(n -> note(i, n, owner)).collect(Collectors.toSet()))
+                    .drafts(Set.of(draft(i, owner)))
+                    .build());
+        }
+
+        Paging paging = Paging.builder()
+                .page(0)
+                .size(PROJECTS)
+                .totalElement(PROJECTS)
+                .totalPage(1)
+                .first(true)
+                .last(true)
+                .build();
+        return GlobalResponse.success(projects, paging);
+    }
+
+    private static NoteResponse note(int project, int note, CollaboratorResponse owner) {
+        return NoteResponse.builder()
+                .noteId("note-" + project + "-" + note)
+                .title("Note " + note)
+                .content("Meeting notes ".repeat(20))
+                .images(Set.of(image(project + "-" + note, owner)))
+                .createdBy(owner)
+                .updatedBy(owner)
+                .createdAt("2024-11-02T10:15:30")
+                .updatedAt("2024-11-03T08:00:00")
+                .build();
+    }
+
+    private static DraftResponse draft(int project, CollaboratorResponse owner) {
+        return DraftResponse.builder()
+                .draftId("draft-" + project)
+                .title("Draft")
+                .content("Work in progress ".repeat(10))
+                .createdBy(owner)
+                .updatedBy(owner)
+                .createdAt("2024-11-02T10:15:30")
+                .updatedAt("2024-11-03T08:00:00")
+                .build();
+    }
+
+    private static ImageResponse image(String id, CollaboratorResponse owner) {
+        return ImageResponse.builder()
+                .imageId("image-" + id)
+                .name("diagram.png")
+                .path("/images/image-" + id)
+                .size(52_431L)
+                .type("image/png")
+                .createdBy(owner)
+                .createdAt("2024-11-02T10:15:30")
+                .build();
+    }
+
+    private static CollaboratorResponse user(String username) {
+        return CollaboratorResponse.builder()
+                .name("Test User")
+                .username(username)
+                .email(username + "@example.com")
+                .build();
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.ccnta.app.presence.service;
+
+import com.ccnta.app.presence.model.Presence;
+import com.ccnta.app.presence.model.PresenceDiff;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the registry with 10k concurrent sessions moving their cursors, and compares one shard
+ * with sixteen: updates per second, time to drain a tick and the messages that tick produces.
+ * Prints the figures used to size the tick and shard count; only correctness is asserted.
+ * <p>
+ * Left out of the default build, run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+class PresenceRegistryBenchmarkTests {
+
+    private static final int SESSIONS = 10_000;
+    private static final int PROJECTS = 500;
+    private static final int MOVES_PER_SESSION = 20;
+    private static final int THREADS = 8;
+    private static final long TTL = 30_000;
+
+    @Test
+    void handlesTenThousandSessions() throws Exception {
+        System.out.printf("%-7s %14s %12s %10s %10s%n", "shards", "updates/s", "drain (ms)", "diffs", "updated");
+        for (int shards : new int[]{1, 16}) {
+            PresenceRegistry registry = new PresenceRegistry(shards, TTL);
+            run(registry, 1); // warm-up
+            registry.drain(0);
+
+            long start = System.nanoTime();
+            run(registry, MOVES_PER_SESSION);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            start = System.nanoTime();
+            List<PresenceDiff> diffs = registry.drain(0);
+            double drainMillis = (System.nanoTime() - start) / 1e6;
+            int updated = diffs.stream().mapToInt(diff -> diff.updated().size()).sum();
+
+            System.out.printf("%-7d %14.0f %12.2f %10d %10d%n", shards,
+                    SESSIONS * MOVES_PER_SESSION / seconds, drainMillis, diffs.size(), updated);
+
+            // every session moved many times, each is sent once with its last position
+            assertThat(registry.localSessions()).isEqualTo(SESSIONS);
+            assertThat(diffs).hasSize(PROJECTS);
+            assertThat(updated).isEqualTo(SESSIONS);
+        }
+    }
+
+    private static void run(PresenceRegistry registry, int moves) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                workers.add(executor.submit(() -> {
+                    for (int move = 0; move < moves; move++) {
+                        for (int s = thread; s < SESSIONS; s += THREADS) {
+                            registry.update(presence("session-" + s, "project-" + (s % PROJECTS), move), 0);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Presence presence(String sessionId, String projectId, int head) {
+        return new Presence(sessionId, "user-" + sessionId, projectId, "note-1", head, head, 1L);
+    }
+
+}
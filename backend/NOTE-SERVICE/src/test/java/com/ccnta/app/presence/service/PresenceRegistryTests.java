@@ -0,0 +1,137 @@
+package com.ccnta.app.presence.service;
+
+import com.ccnta.app.presence.model.Presence;
+import com.ccnta.app.presence.model.PresenceDiff;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Coalescing, expiry and remote sessions of the presence registry, and its shards under concurrent updates.
+ */
+class PresenceRegistryTests {
+
+    private static final int SESSIONS = 1_000;
+    private static final int PROJECTS = 50;
+    private static final int MOVES_PER_SESSION = 5;
+    private static final int THREADS = 4;
+    private static final long TTL = 30_000;
+
+    @Test
+    void coalescesMovesWithinATick() {
+        PresenceRegistry registry = new PresenceRegistry(16, TTL);
+        for (int head = 0; head < 5; head++) {
+            registry.update(presence("session-1", "project-1", head), 0);
+        }
+
+        List<PresenceDiff> diffs = registry.drain(0);
+
+        assertThat(diffs).hasSize(1);
+        assertThat(diffs.get(0).updated()).containsExactly(presence("session-1", "project-1", 4));
+        assertThat(registry.drain(0)).isEmpty();
+    }
+
+    @Test
+    void expiresSessionsWithoutHeartbeat() {
+        PresenceRegistry registry = new PresenceRegistry(16, TTL);
+        registry.update(presence("session-1", "project-1", 0), 0);
+        registry.update(presence("session-2", "project-1", 0), 0);
+        registry.drain(0);
+
+        assertThat(registry.heartbeat("session-2", TTL)).isTrue();
+        List<PresenceDiff> diffs = registry.drain(TTL + 1);
+
+        assertThat(diffs).hasSize(1);
+        assertThat(diffs.get(0).removed()).containsExactly("session-1");
+        assertThat(registry.list("project-1")).extracting(Presence::sessionId).containsExactly("session-2");
+        assertThat(registry.heartbeat("session-1", TTL + 1)).isFalse();
+    }
+
+    @Test
+    void movesSessionBetweenProjectsAndDropsRemoteMember() {
+        PresenceRegistry registry = new PresenceRegistry(16, TTL);
+        UUID member = UUID.randomUUID();
+        registry.update(presence("session-1", "project-1", 0), 0);
+        registry.update(presence("session-1", "project-2", 0), 0);
+        registry.applyRemote(new PresenceDiff("project-2", List.of(presence("remote-1", "project-2", 0)), List.of()), member, 0);
+
+        assertThat(registry.list("project-1")).isEmpty();
+        assertThat(registry.list("project-2")).hasSize(2);
+        assertThat(registry.local()).flatExtracting(PresenceDiff::updated)
+                .extracting(Presence::sessionId).containsExactly("session-1");
+
+        List<PresenceDiff> removed = registry.removeMember(member);
+
+        assertThat(removed).flatExtracting(PresenceDiff::removed).containsExactly("remote-1");
+        assertThat(registry.list("project-2")).extracting(Presence::sessionId).containsExactly("session-1");
+    }
+
+    @Test
+    void expiresRemoteSessionsNotReportedAgain() {
+        PresenceRegistry registry = new PresenceRegistry(16, TTL);
+        UUID member = UUID.randomUUID();
+        PresenceDiff full = new PresenceDiff("project-1",
+                List.of(presence("remote-1", "project-1", 0), presence("remote-2", "project-1", 0)), List.of());
+        assertThat(registry.applyRemote(full, member, 0).updated()).hasSize(2);
+
+        // the periodic full state refreshes what is still there, the removal of remote-2 was lost
+        PresenceDiff refresh = new PresenceDiff("project-1", List.of(presence("remote-1", "project-1", 0)), List.of());
+        assertThat(registry.applyRemote(refresh, member, TTL)).isNull();
+        List<PresenceDiff> expired = registry.expireRemote(TTL + 1);
+
+        assertThat(expired).flatExtracting(PresenceDiff::removed).containsExactly("remote-2");
+        assertThat(registry.list("project-1")).extracting(Presence::sessionId).containsExactly("remote-1");
+        assertThat(registry.drain(TTL + 1)).isEmpty();
+    }
+
+    @Test
+    void sendsEachConcurrentlyMovedSessionOnce() throws Exception {
+        PresenceRegistry registry = new PresenceRegistry(16, TTL);
+
+        run(registry, MOVES_PER_SESSION);
+        List<PresenceDiff> diffs = registry.drain(0);
+
+        // every session moved several times, each is sent once with its last position
+        assertThat(registry.localSessions()).isEqualTo(SESSIONS);
+        assertThat(diffs).hasSize(PROJECTS);
+        assertThat(diffs).flatExtracting(PresenceDiff::updated)
+                .hasSize(SESSIONS)
+                .allSatisfy(presence -> assertThat(presence.head()).isEqualTo(MOVES_PER_SESSION - 1));
+    }
+
+    private static void run(PresenceRegistry registry, int moves) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                workers.add(executor.submit(() -> {
+                    for (int move = 0; move < moves; move++) {
+                        for (int s = thread; s < SESSIONS; s += THREADS) {
+                            registry.update(presence("session-" + s, "project-" + (s % PROJECTS), move), 0);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Presence presence(String sessionId, String projectId, int head) {
+        return new Presence(sessionId, "user-" + sessionId, projectId, "note-1", head, head, 1L);
+    }
+
+}
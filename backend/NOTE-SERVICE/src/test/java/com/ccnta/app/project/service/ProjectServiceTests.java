@@ -0,0 +1,162 @@
+package com.ccnta.app.project.service;
+
+import com.ccnta.app.client.UserDirectory;
+import com.ccnta.app.draft.entity.Draft;
+import com.ccnta.app.draft.model.DraftResponse;
+import com.ccnta.app.media.entity.Image;
+import com.ccnta.app.media.model.ImageResponse;
+import com.ccnta.app.note.entity.Note;
+import com.ccnta.app.note.model.NoteResponse;
+import com.ccnta.app.project.entity.Project;
+import com.ccnta.app.project.model.ProjectResponse;
+import com.ccnta.app.project.repository.ProjectRepository;
+import com.ccnta.app.shared.GlobalResponse;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the project listings, with their notes, drafts and images, load in a fixed number
+ * of statements: the page (and its count for numbered pages), and one fetch each for notes and drafts.
+ */
+@SpringBootTest
+@Transactional
+class ProjectServiceTests {
+
+    private static final long STATEMENTS_PER_PAGE = 4;
+    private static final long STATEMENTS_PER_SCROLL = 3;
+    private static final int PAGE_SIZE = 5;
+
+    @Autowired
+    private IProjectService projectService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    // users are resolved over HTTP, not through statements
+    @MockBean
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private String username;
+
+    @BeforeEach
+    void setUp() {
+        username = "statements-" + UUID.randomUUID();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(username, null, "ROLE_USER"));
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void smallPageLoadsInConstantStatements() {
+        seed(PAGE_SIZE + 1, 1, 1);
+
+        assertThat(statementsToLoad(() -> projectService.allProjects(username, 0, PAGE_SIZE)))
+                .isEqualTo(STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    void largePageLoadsInSameStatements() {
+        seed(PAGE_SIZE * 3, 4, 3);
+
+        assertThat(statementsToLoad(() -> projectService.allProjects(username, 0, PAGE_SIZE)))
+                .isEqualTo(STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    void scrollLoadsInConstantStatements() {
+        seed(PAGE_SIZE * 3, 4, 3);
+
+        assertThat(statementsToLoad(() -> projectService.scrollProjects(username, null, PAGE_SIZE)))
+                .isEqualTo(STATEMENTS_PER_SCROLL);
+    }
+
+    private long statementsToLoad(Supplier<GlobalResponse<List<ProjectResponse>>> listing) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<ProjectResponse> projects = listing.get().getData();
+
+        assertThat(projects).hasSize(PAGE_SIZE);
+        assertThat(projects.stream().flatMap(ProjectServiceTests::images)).isNotEmpty();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static Stream<ImageResponse> images(ProjectResponse project) {
+        return Stream.concat(
+                        Stream.ofNullable(project.getNotes()).flatMap(Collection::stream).map(NoteResponse::getImages),
+                        Stream.ofNullable(project.getDrafts()).flatMap(Collection::stream).map(DraftResponse::getImages))
+                .filter(Objects::nonNull)
+                .flatMap(Collection::stream);
+    }
+
+    private void seed(int projects, int notesPerProject, int imagesPerNote) {
+        for (int p = 0; p < projects; p++) {
+            Project project = new Project();
+            project.setProjectId(UUID.randomUUID().toString());
+            project.setTitle("Project " + p);
+
+            for (int n = 0; n < notesPerProject; n++) {
+                Note note = new Note();
+                note.setNoteId(UUID.randomUUID().toString());
+                note.setTitle("Note " + n);
+                note.setProject(project);
+                project.getNotes().add(note);
+
+                Draft draft = new Draft();
+                draft.setDraftId(UUID.randomUUID().toString());
+                draft.setTitle("Draft " + n);
+                draft.setProject(project);
+                project.getDrafts().add(draft);
+
+                for (int i = 0; i < imagesPerNote; i++) {
+                    note.addImage(image());
+                    Image draftImage = image();
+                    draftImage.setDraft(draft);
+                    draft.getImages().add(draftImage);
+                }
+            }
+
+            projectRepository.save(project);
+        }
+    }
+
+    private static Image image() {
+        Image image = new Image();
+        image.setImageId(UUID.randomUUID().toString());
+        image.setName("image.png");
+        image.setPath("/images/image.png");
+        image.setType("image/png");
+        image.setSize(1L);
+        return image;
+    }
+
+}
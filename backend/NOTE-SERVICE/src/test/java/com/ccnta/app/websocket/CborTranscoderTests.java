@@ -0,0 +1,76 @@
+package com.ccnta.app.websocket;
+
+import com.ccnta.app.collaboration.model.EditResponse;
+import com.ccnta.app.collaboration.ot.TextOperation;
+import com.ccnta.app.notification.entity.Notification;
+import com.ccnta.app.notification.enums.NotificationTypes;
+import com.ccnta.app.presence.model.Presence;
+import com.ccnta.app.presence.model.PresenceDiff;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The frames sent most often, collaborative edits, presence diffs and notifications, read back the same
+ * from CBOR and in fewer bytes.
+ */
+class CborTranscoderTests {
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    @Test
+    void transcodesFramesToSmallerEquivalentCbor() throws Exception {
+        CborTranscoder transcoder = new CborTranscoder(new SimpleMeterRegistry());
+        for (Object frame : frames()) {
+            byte[] json = jsonMapper.writeValueAsBytes(frame);
+            byte[] cbor = transcoder.transcode(json);
+
+            assertThat(cborMapper.readTree(cbor)).isEqualTo(jsonMapper.readTree(json));
+            assertThat(cbor.length).isLessThan(json.length);
+        }
+    }
+
+    @Test
+    void transcodesSharedPayloadOnce() throws Exception {
+        CborTranscoder transcoder = new CborTranscoder(new SimpleMeterRegistry());
+        byte[] json = jsonMapper.writeValueAsBytes(presenceDiff());
+
+        // every subscriber of a destination gets the same array from the broker
+        assertThat(transcoder.transcode(json)).isSameAs(transcoder.transcode(json));
+    }
+
+    private static List<Object> frames() {
+        return List.of(
+                EditResponse.builder()
+                        .noteId("6f1c2b9e-2d8a-4d43-9b1e-0c6a4f1e7a21")
+                        .revision(1284)
+                        .operation(TextOperation.of(List.<Object>of(412, "collaborative", -3, 2048)))
+                        .clientId("c-81f2")
+                        .username("alice")
+                        .build(),
+                presenceDiff(),
+                Notification.builder()
+                        .notificationId("0b8e1c55-7f3e-4a0e-9a77-5e1d2c3b4a59")
+                        .type(NotificationTypes.NOTE_UPDATE)
+                        .title("Note Updated")
+                        .message("alice updated the note Sprint planning in project Roadmap")
+                        .recipient("bob")
+                        .build());
+    }
+
+    private static PresenceDiff presenceDiff() {
+        List<Presence> updated = IntStream.range(0, 20)
+                .mapToObj(i -> new Presence("session-" + i, "user-" + i, "project-1",
+                        "6f1c2b9e-2d8a-4d43-9b1e-0c6a4f1e7a21", 100 + i, 120 + i, 1284L))
+                .toList();
+        return new PresenceDiff("project-1", updated, List.of("session-99"));
+    }
+
+}